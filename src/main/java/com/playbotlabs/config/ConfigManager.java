@@ -2,14 +2,25 @@ package com.playbotlabs.config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class ConfigManager {
+    // Environment overrides are namespaced so standard variables such as BROWSER or HEADLESS are not picked up
+    static final String ENV_PREFIX = "PLAYBOTLABS_";
     private static Properties properties;
     private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static volatile FrameworkConfig config;
+    private static final ThreadLocal<ConfigScope> scope = new ThreadLocal<>();
 
     static {
         loadProperties();
+        config = FrameworkConfig.from(key -> getSetting(key, null));
     }
 
     private static void loadProperties() {
@@ -31,24 +42,304 @@ public class ConfigManager {
         return properties.getProperty(key, defaultValue);
     }
 
+    /**
+     * Look up a setting that may be overridden from the command line or the environment.
+     * A non-blank system property wins, then a non-blank environment variable named after the key
+     * in upper case with dots as underscores and a PLAYBOTLABS_ prefix (e.g. PLAYBOTLABS_WAIT_BACKEND),
+     * then config.properties.
+     * Blank overrides are ignored so Maven profiles can pass empty values without masking the file defaults.
+     */
+    public static String getSetting(String key, String defaultValue) {
+        String override = System.getProperty(key);
+        if (override != null && !override.isBlank()) {
+            return override;
+        }
+        String environment = System.getenv(environmentName(key));
+        if (environment != null && !environment.isBlank()) {
+            return environment;
+        }
+        return getProperty(key, defaultValue);
+    }
+
+    /**
+     * @param key a setting key, e.g. wait.backend
+     * @return the environment variable overriding it, e.g. PLAYBOTLABS_WAIT_BACKEND
+     */
+    static String environmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    /**
+     * Get the validated settings snapshot, built once at start-up
+     * @return the calling thread's scoped snapshot if one is open, otherwise the global snapshot
+     */
+    public static FrameworkConfig getConfig() {
+        ConfigScope current = scope.get();
+        return current != null ? current.config() : config;
+    }
+
+    /**
+     * Override settings for the calling thread until the returned scope is closed
+     * @param overrides setting keys and values, e.g. browser=firefox, headless=true
+     * @return the open scope, to be closed in a finally block or try-with-resources
+     * @throws RuntimeException if the overridden settings are invalid
+     */
+    public static ConfigScope override(Map<String, String> overrides) {
+        return open(new ConfigScope(scope.get(), overrides));
+    }
+
+    /**
+     * Run a task with a given snapshot, e.g. on a background thread working for a scoped scenario
+     * @param snapshot the snapshot captured from {@link #getConfig()} on the requesting thread
+     * @param task the task to run
+     * @return the task's result
+     */
+    public static <T> T callWith(FrameworkConfig snapshot, Supplier<T> task) {
+        ConfigScope opened = open(new ConfigScope(scope.get(), snapshot));
+        try {
+            return task.get();
+        } finally {
+            opened.close();
+        }
+    }
+
+    private static ConfigScope open(ConfigScope opened) {
+        scope.set(opened);
+        return opened;
+    }
+
+    static void closeScope(ConfigScope closing) {
+        if (scope.get() != closing) {
+            throw new IllegalStateException("Configuration scopes must be closed in reverse order of opening");
+        }
+        if (closing.parent() == null) {
+            scope.remove();
+        } else {
+            scope.set(closing.parent());
+        }
+    }
+
+    /**
+     * Rebuild the settings snapshot, picking up system properties changed since start-up
+     * @return the new snapshot
+     */
+    public static FrameworkConfig reload() {
+        config = FrameworkConfig.from(key -> getSetting(key, null));
+        return config;
+    }
+
     public static String getBrowser() {
-        return System.getProperty("browser", getProperty("browser", "chrome"));
+        return getConfig().browser();
     }
 
     public static String getBaseUrl() {
-        return getProperty("base.url", "http://127.0.0.1:5006/");
+        return getConfig().baseUrl();
     }
 
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return (int) getConfig().implicitWait().toSeconds();
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "20"));
+        return (int) getConfig().explicitWait().toSeconds();
+    }
+
+    /**
+     * The explicit wait engine keeps the implicit wait at zero and routes
+     * presence and absence checks through WaitUtils; "legacy" restores the
+     * implicit wait from implicit.wait.
+     */
+    public static boolean isExplicitWaitEngine() {
+        return getConfig().explicitWaitEngine();
+    }
+
+    public static int getPositiveWaitTimeout() {
+        return (int) getConfig().positiveWaitTimeout().toSeconds();
+    }
+
+    public static long getNegativeWaitTimeoutMillis() {
+        return getConfig().negativeWaitTimeout().toMillis();
+    }
+
+    public static String getWaitBackend() {
+        return getConfig().waitBackend().name().toLowerCase(Locale.ROOT);
+    }
+
+    // Adaptive wait configuration methods
+    public static boolean isAdaptiveWaitEnabled() {
+        return getConfig().adaptiveWait().enabled();
+    }
+
+    public static double getAdaptiveWaitPercentile() {
+        return getConfig().adaptiveWait().percentile();
+    }
+
+    public static double getAdaptiveWaitMultiplier() {
+        return getConfig().adaptiveWait().multiplier();
+    }
+
+    public static int getAdaptiveWaitMinSamples() {
+        return (int) getConfig().adaptiveWait().minSamples();
+    }
+
+    public static long getAdaptiveWaitFloorMillis() {
+        return getConfig().adaptiveWait().floor().toMillis();
+    }
+
+    public static String getWaitLatencyFile() {
+        return getSetting("wait.latency.file", ".playbotlabs/wait-latency.json");
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
+        return getConfig().headless();
+    }
+
+    public static int getBrowserMaxSessions() {
+        return Integer.parseInt(getSetting("browser.max.sessions", "0"));
+    }
+
+    public static int getBrowserSessionWaitSeconds() {
+        return Integer.parseInt(getSetting("browser.max.sessions.wait.seconds", "300"));
+    }
+
+    // Driver pool configuration methods
+    public static boolean isDriverPoolEnabled() {
+        return getConfig().sessions().poolEnabled();
+    }
+
+    public static int getDriverPoolSize() {
+        return getConfig().sessions().poolSize();
+    }
+
+    public static int getDriverPoolMaxLeases() {
+        return (int) getConfig().sessions().poolMaxLeases();
+    }
+
+    // Driver pre-spawn and background quit configuration methods
+    public static boolean isDriverPrespawnEnabled() {
+        return getConfig().sessions().prespawnEnabled();
+    }
+
+    public static int getDriverPrespawnDepth() {
+        return getConfig().sessions().prespawnDepth();
+    }
+
+    public static boolean isDriverAsyncQuitEnabled() {
+        return getConfig().sessions().asyncQuit();
+    }
+
+    // Driver binary resolution configuration methods
+    public static String getDriverBinaryDir() {
+        return getSetting("driver.binary.dir", "");
+    }
+
+    public static boolean isDriverOffline() {
+        return Boolean.parseBoolean(getSetting("driver.offline", "false"));
+    }
+
+    /**
+     * Browsers to run every scenario against in one JVM, e.g. "chrome,firefox:headed".
+     * A ":headless" or ":headed" suffix overrides the headless setting for that cell.
+     */
+    public static String getBrowserMatrix() {
+        return getSetting("browser.matrix", "");
+    }
+
+    public static int getParallelThreads() {
+        return Integer.parseInt(getSetting("parallel.threads", "1"));
+    }
+
+    // Scenario scheduling configuration methods
+    public static boolean isLongestFirstScheduleEnabled() {
+        return Boolean.parseBoolean(getSetting("scenario.schedule.longest.first", "true"));
+    }
+
+    public static String getScenarioDurationFile() {
+        return getSetting("scenario.duration.file", ".playbotlabs/scenario-durations.json");
+    }
+
+    public static long getScenarioDurationEstimateMillis() {
+        return Long.parseLong(getSetting("scenario.duration.estimate.ms", "30000"));
+    }
+
+    // Sharding configuration methods (split one run across several CI agents)
+    public static int getShardIndex() {
+        return Integer.parseInt(getSetting("shard.index", "0"));
+    }
+
+    public static int getShardCount() {
+        return Integer.parseInt(getSetting("shard.count", "1"));
+    }
+
+    public static String getShardResultsDir() {
+        return getSetting("shard.results.dir", "target/shard-results/");
+    }
+
+    // Runner daemon configuration methods
+    public static int getDaemonPort() {
+        return Integer.parseInt(getSetting("daemon.port", "7077"));
+    }
+
+    public static String getDaemonFeaturePath() {
+        return getSetting("daemon.features.path", "src/test/resources/features");
+    }
+
+    // Watch mode and impact analysis configuration methods
+    public static long getWatchDebounceMillis() {
+        return Long.parseLong(getSetting("watch.debounce.ms", "300"));
+    }
+
+    public static String getPagesSourcePath() {
+        return getSetting("pages.source.path", "src/main/java/com/playbotlabs/pages");
+    }
+
+    public static String getStepsSourcePath() {
+        return getSetting("steps.source.path", "src/test/java/com/playbotlabs/steps");
+    }
+
+    public static boolean isImpactRecordEnabled() {
+        return Boolean.parseBoolean(getSetting("impact.record", "false"));
+    }
+
+    public static String getImpactMapFile() {
+        return getSetting("impact.map.file", ".playbotlabs/impact-map.json");
+    }
+
+    public static String getImpactBase() {
+        return getSetting("impact.base", "");
+    }
+
+    // Form filling configuration methods
+    public static boolean isBatchFillEnabled() {
+        return Boolean.parseBoolean(getSetting("form.fill.batch", "true"));
+    }
+
+    public static Set<String> getKeystrokeFillFields() {
+        return Arrays.stream(getSetting("form.fill.keystroke.fields", "").split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // Test data configuration methods
+    public static String getTestDataPath() {
+        return getSetting("test.data.path", "src/test/resources/testdata/");
+    }
+
+    public static boolean isTestDataReloadEnabled() {
+        return Boolean.parseBoolean(getSetting("testdata.reload.check", "false"));
+    }
+
+    public static boolean isBinaryTestDataEnabled() {
+        return Boolean.parseBoolean(getSetting("testdata.binary.enabled", "true"));
+    }
+
+    public static String getBinaryTestDataPath() {
+        return getSetting("testdata.binary.path", "target/testdata-bin/");
+    }
+
+    public static long getSyntheticDataSeed() {
+        return Long.parseLong(getSetting("testdata.synthetic.seed", "42"));
     }
 
     // Forms Forest specific configuration methods
@@ -0,0 +1,55 @@
+package com.playbotlabs.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread-local settings overlay opened with {@link ConfigManager#override(Map)}.
+ * While open, {@link ConfigManager#getConfig()} on the opening thread returns a snapshot with the
+ * overrides applied, so one JVM can run scenarios against different browsers, headless modes,
+ * timeouts or base URLs at the same time. Scopes nest; closing one restores the enclosing overlay.
+ */
+public final class ConfigScope implements AutoCloseable {
+    private final ConfigScope parent;
+    private final Map<String, String> overrides;
+    private final FrameworkConfig config;
+    private boolean closed;
+
+    ConfigScope(ConfigScope parent, Map<String, String> overrides) {
+        Map<String, String> merged = parent == null ? new HashMap<>() : new HashMap<>(parent.overrides);
+        merged.putAll(overrides);
+        this.parent = parent;
+        this.overrides = Map.copyOf(merged);
+        this.config = FrameworkConfig.from(key -> this.overrides.containsKey(key)
+                ? this.overrides.get(key)
+                : ConfigManager.getSetting(key, null));
+    }
+
+    ConfigScope(ConfigScope parent, FrameworkConfig config) {
+        this.parent = parent;
+        this.overrides = parent == null ? Map.of() : parent.overrides;
+        this.config = config;
+    }
+
+    ConfigScope parent() {
+        return parent;
+    }
+
+    /**
+     * @return the snapshot with this scope's overrides applied
+     */
+    public FrameworkConfig config() {
+        return config;
+    }
+
+    /**
+     * Restore the enclosing overlay, or the global settings if this was the outermost scope
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            ConfigManager.closeScope(this);
+        }
+    }
+}
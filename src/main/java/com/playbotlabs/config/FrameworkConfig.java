@@ -0,0 +1,200 @@
+package com.playbotlabs.config;
+
+import com.playbotlabs.utils.WaitBackend;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-parsed snapshot of the settings read on hot paths (driver creation and release, and every wait).
+ * Values are parsed and validated once, so a typo in config.properties or on the command line fails
+ * at start-up with every problem listed instead of part-way through a run.
+ * @param browser the browser name, lower case
+ * @param baseUrl the application base URL
+ * @param headless whether browsers start headless
+ * @param implicitWait the implicit wait used by the legacy wait engine
+ * @param explicitWait the default WaitUtils timeout
+ * @param explicitWaitEngine true unless wait.engine is "legacy"
+ * @param positiveWaitTimeout how long positive checks wait for an element to appear
+ * @param negativeWaitTimeout how long negative checks wait for an element to go away
+ * @param waitBackend the default WaitUtils backend
+ * @param adaptiveWait how wait timeouts adapt to recorded latency
+ * @param sessions how browser sessions are pooled, pre-spawned and quit
+ */
+public record FrameworkConfig(String browser,
+                              String baseUrl,
+                              boolean headless,
+                              Duration implicitWait,
+                              Duration explicitWait,
+                              boolean explicitWaitEngine,
+                              Duration positiveWaitTimeout,
+                              Duration negativeWaitTimeout,
+                              WaitBackend waitBackend,
+                              AdaptiveWait adaptiveWait,
+                              Sessions sessions) {
+
+    static final Set<String> BROWSERS = Set.of("chrome", "firefox", "edge", "safari");
+
+    /**
+     * Build and validate a snapshot
+     * @param settings looks up a raw setting by key, returning null when it is not set
+     * @return the snapshot
+     * @throws RuntimeException listing every invalid setting
+     */
+    public static FrameworkConfig from(Function<String, String> settings) {
+        Parser parser = new Parser(settings);
+        String browser = parser.text("browser", "chrome").toLowerCase(Locale.ROOT);
+        if (!BROWSERS.contains(browser)) {
+            parser.error("browser", browser, "one of " + BROWSERS);
+        }
+        String baseUrl = parser.url("base.url", "http://127.0.0.1:5006/");
+        boolean headless = parser.bool("headless", "false");
+        Duration implicitWait = Duration.ofSeconds(parser.whole("implicit.wait", "10"));
+        Duration explicitWait = Duration.ofSeconds(parser.whole("explicit.wait", "20"));
+        String engine = parser.text("wait.engine", "explicit");
+        if (!"explicit".equalsIgnoreCase(engine) && !"legacy".equalsIgnoreCase(engine)) {
+            parser.error("wait.engine", engine, "explicit or legacy");
+        }
+        Duration positiveWaitTimeout = Duration.ofSeconds(
+                parser.whole("wait.positive.timeout", String.valueOf(implicitWait.toSeconds())));
+        Duration negativeWaitTimeout = Duration.ofMillis(parser.whole("wait.negative.timeout.ms", "1000"));
+        WaitBackend waitBackend = parser.backend("wait.backend", "polling");
+        AdaptiveWait adaptiveWait = new AdaptiveWait(
+                parser.bool("wait.adaptive.enabled", "false"),
+                parser.decimal("wait.adaptive.percentile", "99", 0, 100),
+                parser.decimal("wait.adaptive.multiplier", "3", 0, Double.MAX_VALUE),
+                parser.whole("wait.adaptive.min.samples", "20"),
+                Duration.ofMillis(parser.whole("wait.adaptive.floor.ms", "2000")));
+        String parallelThreads = parser.text("parallel.threads", null);
+        Sessions sessions = new Sessions(
+                parser.bool("driver.pool.enabled", "false"),
+                (int) parser.whole("driver.pool.size", parallelThreads == null ? "3" : parallelThreads),
+                parser.whole("driver.pool.max.leases", "25"),
+                parser.bool("driver.prespawn.enabled", "false"),
+                (int) parser.whole("driver.prespawn.depth", parallelThreads == null ? "1" : parallelThreads),
+                parser.bool("driver.async.quit", "false"));
+        parser.failOnErrors();
+        return new FrameworkConfig(browser, baseUrl, headless, implicitWait, explicitWait,
+                !"legacy".equalsIgnoreCase(engine), positiveWaitTimeout, negativeWaitTimeout, waitBackend,
+                adaptiveWait, sessions);
+    }
+
+    /**
+     * Adaptive wait settings, see WaitLatencyRecorder
+     * @param enabled whether timeouts adapt to recorded latency
+     * @param percentile the latency percentile a timeout is derived from, between 0 and 100
+     * @param multiplier the safety factor applied to the percentile
+     * @param minSamples how many samples a condition needs before its timeout adapts
+     * @param floor the shortest adaptive timeout
+     */
+    public record AdaptiveWait(boolean enabled, double percentile, double multiplier, long minSamples, Duration floor) {
+    }
+
+    /**
+     * Browser session lifecycle settings, see DriverPool and AsyncDriverLifecycle
+     * @param poolEnabled whether warm sessions are reused across scenarios
+     * @param poolSize the most sessions each pool keeps open
+     * @param poolMaxLeases how many scenarios a pooled session serves before it is recycled
+     * @param prespawnEnabled whether the next session is launched in the background
+     * @param prespawnDepth how many sessions are launched ahead of need
+     * @param asyncQuit whether sessions are quit in the background
+     */
+    public record Sessions(boolean poolEnabled, int poolSize, long poolMaxLeases,
+                           boolean prespawnEnabled, int prespawnDepth, boolean asyncQuit) {
+    }
+
+    /**
+     * Reads raw settings and collects every problem before failing
+     */
+    private static final class Parser {
+        private final Function<String, String> settings;
+        private final List<String> errors = new ArrayList<>();
+
+        Parser(Function<String, String> settings) {
+            this.settings = settings;
+        }
+
+        String text(String key, String defaultValue) {
+            String value = settings.apply(key);
+            return value == null || value.isBlank() ? defaultValue : value.trim();
+        }
+
+        long whole(String key, String defaultValue) {
+            String value = text(key, defaultValue);
+            try {
+                long parsed = Long.parseLong(value);
+                if (parsed >= 0) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            error(key, value, "a non-negative whole number");
+            return 0;
+        }
+
+        double decimal(String key, String defaultValue, double min, double max) {
+            String value = text(key, defaultValue);
+            try {
+                double parsed = Double.parseDouble(value);
+                if (parsed >= min && parsed <= max) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            error(key, value, max == Double.MAX_VALUE ? "a number of at least " + min
+                    : "a number between " + min + " and " + max);
+            return min;
+        }
+
+        boolean bool(String key, String defaultValue) {
+            String value = text(key, defaultValue);
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                error(key, value, "true or false");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        String url(String key, String defaultValue) {
+            String value = text(key, defaultValue);
+            try {
+                URI uri = new URI(value);
+                if (("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))
+                        && uri.getHost() != null) {
+                    return value;
+                }
+            } catch (URISyntaxException e) {
+                // Reported below
+            }
+            error(key, value, "an absolute http or https URL");
+            return value;
+        }
+
+        WaitBackend backend(String key, String defaultValue) {
+            String value = text(key, defaultValue);
+            try {
+                return WaitBackend.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                error(key, value, "polling or mutation_observer");
+                return WaitBackend.POLLING;
+            }
+        }
+
+        void error(String key, String value, String expected) {
+            errors.add(key + "='" + value + "' (expected " + expected + ")");
+        }
+
+        void failOnErrors() {
+            if (!errors.isEmpty()) {
+                throw new RuntimeException("Invalid configuration: " + String.join(", ", errors));
+            }
+        }
+    }
+}
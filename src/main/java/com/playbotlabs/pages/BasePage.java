@@ -3,12 +3,57 @@ package com.playbotlabs.pages;
 import com.playbotlabs.utils.DriverManager;
 import com.playbotlabs.utils.WaitUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.Select;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public abstract class BasePage {
+    // Sets every named field in one round trip and fires the events client-side validation listens to.
+    // Text fields use the native value setter so framework-bound inputs see the change.
+    // Checkbox groups take a comma separated list of values to check and leave the others alone,
+    // radios take the value to select, single checkboxes take "true"/"false" and selects match
+    // option text or value.
+    // Returns the names that matched no field.
+    private static final String FILL_BATCH_SCRIPT =
+            "var values = arguments[0], missing = [];" +
+            "function fire(el, types) {" +
+            "  types.forEach(function (type) { el.dispatchEvent(new Event(type, {bubbles: type !== 'blur'})); });" +
+            "}" +
+            "Object.keys(values).forEach(function (name) {" +
+            "  var value = values[name], fields = document.getElementsByName(name);" +
+            "  if (!fields.length) { missing.push(name); return; }" +
+            "  var first = fields[0], type = (first.type || '').toLowerCase();" +
+            "  if (type === 'checkbox' || type === 'radio') {" +
+            "    var wanted = value.split(',').map(function (v) { return v.trim(); });" +
+            "    Array.prototype.forEach.call(fields, function (field) {" +
+            "      var checked = fields.length === 1 && type === 'checkbox'" +
+            "          ? value === 'true' : wanted.indexOf(field.value) >= 0;" +
+            "      if (checked && !field.checked || !checked && field.checked && fields.length === 1) {" +
+            "        field.checked = checked;" +
+            "        fire(field, ['click', 'input', 'change']);" +
+            "      }" +
+            "    });" +
+            "  } else if (first.tagName === 'SELECT') {" +
+            "    Array.prototype.forEach.call(first.options, function (option) {" +
+            "      if (option.text.trim() === value || option.value === value) { option.selected = true; }" +
+            "    });" +
+            "    fire(first, ['input', 'change']);" +
+            "  } else {" +
+            "    var proto = first.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "    Object.getOwnPropertyDescriptor(proto, 'value').set.call(first, value);" +
+            "    fire(first, ['input', 'change', 'blur']);" +
+            "  }" +
+            "});" +
+            "return missing;";
+
     protected WebDriver driver;
 
     public BasePage() {
@@ -36,6 +81,27 @@ public abstract class BasePage {
         element.sendKeys(text);
     }
 
+    /**
+     * Fill many named fields with a single script call
+     * @param fieldValues field name to value, see FILL_BATCH_SCRIPT for checkbox, radio and select values
+     * @param keystrokeFields text fields that must be typed with real keystrokes instead
+     */
+    protected void fillBatch(Map<String, String> fieldValues, Set<String> keystrokeFields) {
+        Map<String, String> scripted = new LinkedHashMap<>(fieldValues);
+        scripted.keySet().removeAll(keystrokeFields);
+        if (!scripted.isEmpty()) {
+            List<?> missing = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_BATCH_SCRIPT, scripted);
+            if (!missing.isEmpty()) {
+                throw new NoSuchElementException("Form fields not found: " + missing);
+            }
+        }
+        for (Map.Entry<String, String> field : fieldValues.entrySet()) {
+            if (keystrokeFields.contains(field.getKey())) {
+                sendKeys(By.name(field.getKey()), field.getValue());
+            }
+        }
+    }
+
     protected String getText(By locator) {
         return WaitUtils.waitForElementToBeVisible(locator).getText();
     }
@@ -55,19 +121,23 @@ public abstract class BasePage {
     }
 
     protected boolean isElementDisplayed(By locator) {
-        try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return WaitUtils.isDisplayed(locator);
     }
 
     protected boolean isElementDisplayed(WebElement element) {
-        try {
-            return element.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return WaitUtils.isDisplayed(element);
+    }
+
+    protected boolean waitForElementDisplayed(By locator) {
+        return WaitUtils.waitForDisplayed(locator);
+    }
+
+    protected boolean isElementAbsent(By locator) {
+        return WaitUtils.isAbsent(locator);
+    }
+
+    protected boolean isElementAbsentNow(By locator) {
+        return WaitUtils.isAbsentNow(locator);
     }
 
     protected void navigateTo(String url) {
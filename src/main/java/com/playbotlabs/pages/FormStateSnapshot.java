@@ -0,0 +1,183 @@
+package com.playbotlabs.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of every form control on the page, captured with one
+ * script call so that page objects and steps can make many assertions
+ * without going back to the browser.
+ * Controls are keyed by their name attribute, unnamed buttons by
+ * "button:" plus their type, e.g. "button:submit".
+ */
+public final class FormStateSnapshot {
+    private static final String CAPTURE_SCRIPT =
+            "function visible(el) {" +
+            "  var style = window.getComputedStyle(el);" +
+            "  return style.display !== 'none' && style.visibility !== 'hidden'" +
+            "      && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);" +
+            "}" +
+            "var fields = Array.prototype.map.call(document.querySelectorAll('input, select, textarea, button')," +
+            "  function (el) {" +
+            "    var type = (el.type || '').toLowerCase(), aria = {};" +
+            "    Array.prototype.forEach.call(el.attributes, function (attr) {" +
+            "      if (attr.name.indexOf('aria-') === 0) { aria[attr.name] = attr.value; }" +
+            "    });" +
+            "    return {key: el.name || el.tagName.toLowerCase() + ':' + type, tag: el.tagName.toLowerCase()," +
+            "      type: type, id: el.id, value: el.value, enabled: !el.disabled, displayed: visible(el)," +
+            "      required: el.required === true, checked: el.checked === true, aria: aria};" +
+            "  });" +
+            "var messages = {};" +
+            "arguments[0].forEach(function (selector) {" +
+            "  messages[selector] = Array.prototype.filter.call(document.querySelectorAll(selector), visible)" +
+            "      .map(function (el) { return el.innerText.trim(); });" +
+            "});" +
+            "return {fields: fields, messages: messages};";
+
+    /**
+     * State of a single form control
+     */
+    public record Field(String key, String tagName, String type, String id, String value, boolean enabled,
+                        boolean displayed, boolean required, boolean checked, Map<String, String> aria) {
+
+        /**
+         * Get an aria attribute
+         * @param name the attribute name including the "aria-" prefix
+         * @return the attribute value or null if not set
+         */
+        public String aria(String name) {
+            return aria.get(name);
+        }
+    }
+
+    private final Map<String, List<Field>> fields;
+    private final Map<String, List<String>> visibleTexts;
+
+    private FormStateSnapshot(Map<String, List<Field>> fields, Map<String, List<String>> visibleTexts) {
+        this.fields = fields;
+        this.visibleTexts = visibleTexts;
+    }
+
+    /**
+     * Capture the state of all form controls and the visible elements matching the given selectors
+     * @param driver the driver to capture from
+     * @param messageSelectors CSS selectors of message elements to record, e.g. ".error-message"
+     * @return the snapshot
+     */
+    public static FormStateSnapshot capture(WebDriver driver, List<String> messageSelectors) {
+        Object result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT, messageSelectors);
+        return fromScriptResult((Map<?, ?>) result);
+    }
+
+    static FormStateSnapshot fromScriptResult(Map<?, ?> result) {
+        Map<String, List<Field>> fields = new LinkedHashMap<>();
+        for (Object entry : (List<?>) result.get("fields")) {
+            Map<?, ?> field = (Map<?, ?>) entry;
+            Map<String, String> aria = new LinkedHashMap<>();
+            ((Map<?, ?>) field.get("aria")).forEach((name, value) -> aria.put((String) name, (String) value));
+            Field state = new Field((String) field.get("key"), (String) field.get("tag"), (String) field.get("type"),
+                    (String) field.get("id"), (String) field.get("value"), Boolean.TRUE.equals(field.get("enabled")),
+                    Boolean.TRUE.equals(field.get("displayed")), Boolean.TRUE.equals(field.get("required")),
+                    Boolean.TRUE.equals(field.get("checked")), Collections.unmodifiableMap(aria));
+            fields.computeIfAbsent(state.key(), key -> new ArrayList<>()).add(state);
+        }
+        fields.replaceAll((key, states) -> List.copyOf(states));
+
+        Map<String, List<String>> visibleTexts = new LinkedHashMap<>();
+        ((Map<?, ?>) result.get("messages")).forEach((selector, texts) ->
+                visibleTexts.put((String) selector, ((List<?>) texts).stream().map(String.class::cast).toList()));
+        return new FormStateSnapshot(Collections.unmodifiableMap(fields), Collections.unmodifiableMap(visibleTexts));
+    }
+
+    /**
+     * Get the first control with the given key
+     * @param key the control name, or "button:" plus type for unnamed buttons
+     * @return the control state or null if there is no such control
+     */
+    public Field field(String key) {
+        List<Field> states = fields.get(key);
+        return states == null ? null : states.get(0);
+    }
+
+    /**
+     * Get every control sharing the given key, as for checkbox and radio groups
+     * @param key the control name
+     * @return the control states in document order, empty if there are none
+     */
+    public List<Field> fields(String key) {
+        return fields.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Check whether a control exists and is enabled
+     * @param key the control key
+     * @return true if the control is enabled
+     */
+    public boolean isEnabled(String key) {
+        Field field = field(key);
+        return field != null && field.enabled();
+    }
+
+    /**
+     * Check whether a control exists and is displayed
+     * @param key the control key
+     * @return true if the control is displayed
+     */
+    public boolean isDisplayed(String key) {
+        Field field = field(key);
+        return field != null && field.displayed();
+    }
+
+    /**
+     * Check whether a single checkbox is checked
+     * @param key the control name
+     * @return true if the checkbox is checked
+     */
+    public boolean isChecked(String key) {
+        Field field = field(key);
+        return field != null && field.checked();
+    }
+
+    /**
+     * Get the value of a control
+     * @param key the control key
+     * @return the value or null if there is no such control
+     */
+    public String getValue(String key) {
+        Field field = field(key);
+        return field == null ? null : field.value();
+    }
+
+    /**
+     * Get the values of the checked options in a checkbox or radio group
+     * @param key the group name
+     * @return checked values in document order
+     */
+    public List<String> getCheckedValues(String key) {
+        return fields(key).stream().filter(Field::checked).map(Field::value).toList();
+    }
+
+    /**
+     * Get the text of the visible elements matching a recorded selector
+     * @param selector one of the selectors passed to capture
+     * @return visible element texts, empty if none were visible
+     */
+    public List<String> getVisibleTexts(String selector) {
+        return visibleTexts.getOrDefault(selector, List.of());
+    }
+
+    /**
+     * Check whether any element matching a recorded selector was visible
+     * @param selector one of the selectors passed to capture
+     * @return true if at least one element was visible
+     */
+    public boolean isVisible(String selector) {
+        return !getVisibleTexts(selector).isEmpty();
+    }
+}
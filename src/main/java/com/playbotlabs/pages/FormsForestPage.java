@@ -1,10 +1,16 @@
 package com.playbotlabs.pages;
 
 import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.FormOutcome;
+import com.playbotlabs.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -13,12 +19,30 @@ import java.util.stream.Collectors;
  */
 public class FormsForestPage extends BasePage {
 
-    // Form container elements
-    @FindBy(css = "form")
-    private WebElement mainForm;
-
-    @FindBy(css = ".card")
-    private WebElement formContainer;
+    // Locators for checks that go through the explicit wait engine
+    private static final String SUCCESS_MESSAGE_CSS = ".success-message";
+    private static final String ERROR_MESSAGE_CSS = ".error-message";
+    private static final String VALIDATION_ERROR_CSS = ".validation-error";
+    private static final By SUCCESS_MESSAGE = By.cssSelector(SUCCESS_MESSAGE_CSS);
+    private static final By ERROR_MESSAGE = By.cssSelector(ERROR_MESSAGE_CSS);
+    private static final By VALIDATION_ERROR = By.cssSelector(VALIDATION_ERROR_CSS);
+    private static final By MAIN_FORM = By.cssSelector("form");
+    private static final By SUBMIT_BUTTON = By.cssSelector("button[type='submit']");
+    private static final By RESET_BUTTON = By.cssSelector("button[type='reset']");
+    private static final By FORM_CONTAINER = By.cssSelector(".card");
+    private static final By USERNAME_FIELD = By.name("username");
+    private static final By PASSWORD_FIELD = By.name("password");
+    private static final By EMAIL_FIELD = By.name("email");
+    private static final By COMMENTS_TEXT_AREA = By.name("comments");
+    private static final By DESCRIPTION_TEXT_AREA = By.name("description");
+    private static final By MESSAGE_TEXT_AREA = By.name("message");
+    private static final List<String> SNAPSHOT_SELECTORS =
+            List.of("form", SUCCESS_MESSAGE_CSS, ERROR_MESSAGE_CSS, VALIDATION_ERROR_CSS);
+    private static final List<String> PRIMARY_FIELDS =
+            List.of("username", "password", "email", "firstName", "lastName", "phone", "button:submit");
+
+    // Test data keys whose form field has a different name attribute
+    private static final Map<String, String> FIELD_NAME_ALIASES = Map.of("phoneNumber", "phone");
 
     // Common form input elements
     @FindBy(name = "username")
@@ -95,20 +119,11 @@ public class FormsForestPage extends BasePage {
     @FindBy(name = "privacy")
     private WebElement privacyCheckbox;
 
-    @FindBy(css = "input[name='interests']")
-    private List<WebElement> interestsCheckboxes;
-
-    @FindBy(css = "input[name='skills']")
-    private List<WebElement> skillsCheckboxes;
-
-    @FindBy(css = "input[name='gender']")
-    private List<WebElement> genderRadioButtons;
-
-    @FindBy(css = "input[name='experience']")
-    private List<WebElement> experienceRadioButtons;
-
-    @FindBy(css = "input[name='preference']")
-    private List<WebElement> preferenceRadioButtons;
+    private final OptionGroup interestsGroup = new OptionGroup(driver, "interests");
+    private final OptionGroup skillsGroup = new OptionGroup(driver, "skills");
+    private final OptionGroup genderGroup = new OptionGroup(driver, "gender");
+    private final OptionGroup experienceGroup = new OptionGroup(driver, "experience");
+    private final OptionGroup preferenceGroup = new OptionGroup(driver, "preference");
 
     /**
      * Navigate to the Forms Forest page
@@ -200,6 +215,18 @@ public class FormsForestPage extends BasePage {
      */
     public void fillCompleteForm(String username, String password, String email, 
                                 String firstName, String lastName, String phoneNumber) {
+        if (ConfigManager.isBatchFillEnabled()) {
+            Map<String, String> fieldValues = new LinkedHashMap<>();
+            fieldValues.put("username", username);
+            fieldValues.put("password", password);
+            fieldValues.put("email", email);
+            fieldValues.put("firstName", firstName);
+            fieldValues.put("lastName", lastName);
+            fieldValues.put("phoneNumber", phoneNumber);
+            fieldValues.values().removeIf(value -> value == null || value.isEmpty());
+            fillBatch(fieldValues);
+            return;
+        }
         if (username != null && !username.isEmpty()) fillUsername(username);
         if (password != null && !password.isEmpty()) fillPassword(password);
         if (email != null && !email.isEmpty()) fillEmail(email);
@@ -208,6 +235,29 @@ public class FormsForestPage extends BasePage {
         if (phoneNumber != null && !phoneNumber.isEmpty()) fillPhoneNumber(phoneNumber);
     }
 
+    /**
+     * Fill many fields in one browser round trip, typing the configured keystroke fields
+     * @param fieldValues field name or test data key to value
+     */
+    public void fillBatch(Map<String, String> fieldValues) {
+        fillBatch(fieldValues, ConfigManager.getKeystrokeFillFields());
+    }
+
+    /**
+     * Fill many fields in one browser round trip
+     * @param fieldValues field name or test data key to value
+     * @param keystrokeFields text fields that must be typed with real keystrokes
+     */
+    @Override
+    public void fillBatch(Map<String, String> fieldValues, Set<String> keystrokeFields) {
+        Map<String, String> byFieldName = new LinkedHashMap<>();
+        fieldValues.forEach((key, value) -> byFieldName.put(FIELD_NAME_ALIASES.getOrDefault(key, key), value));
+        Set<String> keystrokeFieldNames = keystrokeFields.stream()
+                .map(key -> FIELD_NAME_ALIASES.getOrDefault(key, key))
+                .collect(Collectors.toSet());
+        super.fillBatch(byFieldName, keystrokeFieldNames);
+    }
+
     /**
      * Submit the form
      */
@@ -300,16 +350,7 @@ public class FormsForestPage extends BasePage {
      * @param interests list of interest values to select
      */
     public void selectInterests(List<String> interests) {
-        for (String interest : interests) {
-            for (WebElement checkbox : interestsCheckboxes) {
-                if (checkbox.getAttribute("value").equals(interest)) {
-                    if (!checkbox.isSelected()) {
-                        click(checkbox);
-                    }
-                    break;
-                }
-            }
-        }
+        interestsGroup.check(interests);
     }
 
     /**
@@ -317,38 +358,21 @@ public class FormsForestPage extends BasePage {
      * @param skills list of skill values to select
      */
     public void selectSkills(List<String> skills) {
-        for (String skill : skills) {
-            for (WebElement checkbox : skillsCheckboxes) {
-                if (checkbox.getAttribute("value").equals(skill)) {
-                    if (!checkbox.isSelected()) {
-                        click(checkbox);
-                    }
-                    break;
-                }
-            }
-        }
+        skillsGroup.check(skills);
     }
 
     /**
      * Clear all interests checkboxes
      */
     public void clearAllInterests() {
-        for (WebElement checkbox : interestsCheckboxes) {
-            if (checkbox.isSelected()) {
-                click(checkbox);
-            }
-        }
+        interestsGroup.uncheckAll();
     }
 
     /**
      * Clear all skills checkboxes
      */
     public void clearAllSkills() {
-        for (WebElement checkbox : skillsCheckboxes) {
-            if (checkbox.isSelected()) {
-                click(checkbox);
-            }
-        }
+        skillsGroup.uncheckAll();
     }
 
     /**
@@ -356,12 +380,7 @@ public class FormsForestPage extends BasePage {
      * @param gender the gender value to select
      */
     public void selectGender(String gender) {
-        for (WebElement radioButton : genderRadioButtons) {
-            if (radioButton.getAttribute("value").equals(gender)) {
-                click(radioButton);
-                break;
-            }
-        }
+        genderGroup.select(gender);
     }
 
     /**
@@ -369,12 +388,7 @@ public class FormsForestPage extends BasePage {
      * @param experience the experience level value to select
      */
     public void selectExperience(String experience) {
-        for (WebElement radioButton : experienceRadioButtons) {
-            if (radioButton.getAttribute("value").equals(experience)) {
-                click(radioButton);
-                break;
-            }
-        }
+        experienceGroup.select(experience);
     }
 
     /**
@@ -382,78 +396,73 @@ public class FormsForestPage extends BasePage {
      * @param preference the preference value to select
      */
     public void selectPreference(String preference) {
-        for (WebElement radioButton : preferenceRadioButtons) {
-            if (radioButton.getAttribute("value").equals(preference)) {
-                click(radioButton);
-                break;
-            }
-        }
+        preferenceGroup.select(preference);
     }
 
     // Validation and state checking methods
 
     /**
-     * Check if form is displayed
+     * Check if form is displayed, waiting up to the positive timeout
      * @return true if form is visible
      */
     public boolean isFormDisplayed() {
-        return isElementDisplayed(mainForm);
+        return waitForElementDisplayed(MAIN_FORM);
     }
 
     /**
-     * Check if form container is displayed
+     * Check if form container is displayed, waiting up to the positive timeout
      * @return true if form container is visible
      */
     public boolean isFormContainerDisplayed() {
-        return isElementDisplayed(formContainer);
+        return waitForElementDisplayed(FORM_CONTAINER);
     }
 
     /**
-     * Check if username field is displayed
+     * Check if username field is displayed, waiting up to the positive timeout
      * @return true if username field is visible
      */
     public boolean isUsernameFieldDisplayed() {
-        return isElementDisplayed(usernameField);
+        return waitForElementDisplayed(USERNAME_FIELD);
     }
 
     /**
-     * Check if password field is displayed
+     * Check if password field is displayed, waiting up to the positive timeout
      * @return true if password field is visible
      */
     public boolean isPasswordFieldDisplayed() {
-        return isElementDisplayed(passwordField);
+        return waitForElementDisplayed(PASSWORD_FIELD);
     }
 
     /**
-     * Check if email field is displayed
+     * Check if email field is displayed, waiting up to the positive timeout
      * @return true if email field is visible
      */
     public boolean isEmailFieldDisplayed() {
-        return isElementDisplayed(emailField);
+        return waitForElementDisplayed(EMAIL_FIELD);
     }
 
     /**
-     * Check if comments text area is displayed
+     * Check if comments text area is displayed, waiting up to the positive timeout
      * @return true if comments text area is visible
      */
     public boolean isCommentsTextAreaDisplayed() {
-        return isElementDisplayed(commentsTextArea);
+        return waitForElementDisplayed(COMMENTS_TEXT_AREA);
     }
 
     /**
-     * Check if description text area is displayed
+     * Check if description text area is displayed, waiting up to the positive timeout
      * @return true if description text area is visible
      */
     public boolean isDescriptionTextAreaDisplayed() {
-        return isElementDisplayed(descriptionTextArea);
+        return waitForElementDisplayed(DESCRIPTION_TEXT_AREA);
     }
 
     /**
-     * Check if message text area is displayed
+     * Check if message text area is displayed, waiting up to the positive timeout
      * @return true if message text area is visible
      */
     public boolean isMessageTextAreaDisplayed() {
-        return isElementDisplayed(messageTextArea);
+        return waitForElementDisplayed(MESSAGE_TEXT_AREA);
     }
 
     /**
@@ -465,35 +474,59 @@ public class FormsForestPage extends BasePage {
     }
 
     /**
-     * Check if submit button is displayed
+     * Check if submit button is displayed, waiting up to the positive timeout
      * @return true if submit button is visible
      */
     public boolean isSubmitButtonDisplayed() {
-        return isElementDisplayed(submitButton);
+        return waitForElementDisplayed(SUBMIT_BUTTON);
     }
 
     /**
-     * Check if reset button is displayed
+     * Check if reset button is displayed, waiting up to the positive timeout
      * @return true if reset button is visible
      */
     public boolean isResetButtonDisplayed() {
-        return isElementDisplayed(resetButton);
+        return waitForElementDisplayed(RESET_BUTTON);
     }
 
     /**
-     * Check if success message is displayed
+     * Check if success message is displayed, without waiting
      * @return true if success message is visible
      */
     public boolean isSuccessMessageDisplayed() {
-        return isElementDisplayed(successMessage);
+        return !isElementAbsentNow(SUCCESS_MESSAGE);
     }
 
     /**
-     * Check if error message is displayed
+     * Check if error message is displayed, without waiting
      * @return true if error message is visible
      */
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return !isElementAbsentNow(ERROR_MESSAGE);
+    }
+
+    /**
+     * Check that no success message is shown, waiting only the short negative timeout
+     * @return true if the success message is absent or hidden
+     */
+    public boolean isSuccessMessageAbsent() {
+        return isElementAbsent(SUCCESS_MESSAGE);
+    }
+
+    /**
+     * Check that no error message is shown, waiting only the short negative timeout
+     * @return true if the error message is absent or hidden
+     */
+    public boolean isErrorMessageAbsent() {
+        return isElementAbsent(ERROR_MESSAGE);
+    }
+
+    /**
+     * Check that no validation error is shown, waiting only the short negative timeout
+     * @return true if no validation error is visible
+     */
+    public boolean hasNoValidationErrors() {
+        return isElementAbsent(VALIDATION_ERROR);
     }
 
     /**
@@ -531,12 +564,11 @@ public class FormsForestPage extends BasePage {
     }
 
     /**
-     * Check if form has validation errors
+     * Check if form has validation errors, without waiting
      * @return true if validation errors are present
      */
     public boolean hasValidationErrors() {
-        return !validationErrors.isEmpty() && 
-               validationErrors.stream().anyMatch(this::isElementDisplayed);
+        return !isElementAbsentNow(VALIDATION_ERROR);
     }
 
     /**
@@ -545,7 +577,7 @@ public class FormsForestPage extends BasePage {
      */
     public boolean waitForFormToLoad() {
         try {
-            return isFormDisplayed() && isSubmitButtonDisplayed();
+            return waitForElementDisplayed(MAIN_FORM) && waitForElementDisplayed(SUBMIT_BUTTON);
         } catch (Exception e) {
             return false;
         }
@@ -556,11 +588,19 @@ public class FormsForestPage extends BasePage {
      * @return true if submission completed (success or error message appears)
      */
     public boolean waitForFormSubmission() {
+        return waitForSubmissionOutcome() != FormOutcome.TIMEOUT;
+    }
+
+    /**
+     * Wait for form submission and report which outcome appeared
+     * @return SUCCESS, ERROR or VALIDATION, or TIMEOUT if nothing appeared in time
+     */
+    public FormOutcome waitForSubmissionOutcome() {
         try {
-            // Wait for either success or error message to appear
-            return isSuccessMessageDisplayed() || isErrorMessageDisplayed() || hasValidationErrors();
+            return WaitUtils.waitForOutcome(Duration.ofSeconds(ConfigManager.getFormsForestFormTimeout()),
+                    SUCCESS_MESSAGE_CSS, ERROR_MESSAGE_CSS, VALIDATION_ERROR_CSS);
         } catch (Exception e) {
-            return false;
+            return FormOutcome.TIMEOUT;
         }
     }
 
@@ -625,12 +665,7 @@ public class FormsForestPage extends BasePage {
      * @return the selected gender value or null if none selected
      */
     public String getSelectedGender() {
-        for (WebElement radioButton : genderRadioButtons) {
-            if (radioButton.isSelected()) {
-                return radioButton.getAttribute("value");
-            }
-        }
-        return null;
+        return genderGroup.getSelectedValue();
     }
 
     /**
@@ -638,12 +673,7 @@ public class FormsForestPage extends BasePage {
      * @return the selected experience level value or null if none selected
      */
     public String getSelectedExperience() {
-        for (WebElement radioButton : experienceRadioButtons) {
-            if (radioButton.isSelected()) {
-                return radioButton.getAttribute("value");
-            }
-        }
-        return null;
+        return experienceGroup.getSelectedValue();
     }
 
     /**
@@ -651,12 +681,7 @@ public class FormsForestPage extends BasePage {
      * @return the selected preference value or null if none selected
      */
     public String getSelectedPreference() {
-        for (WebElement radioButton : preferenceRadioButtons) {
-            if (radioButton.isSelected()) {
-                return radioButton.getAttribute("value");
-            }
-        }
-        return null;
+        return preferenceGroup.getSelectedValue();
     }
 
     /**
@@ -688,10 +713,7 @@ public class FormsForestPage extends BasePage {
      * @return list of selected interest values
      */
     public List<String> getSelectedInterests() {
-        return interestsCheckboxes.stream()
-                .filter(WebElement::isSelected)
-                .map(checkbox -> checkbox.getAttribute("value"))
-                .collect(Collectors.toList());
+        return interestsGroup.getSelectedValues();
     }
 
     /**
@@ -699,10 +721,7 @@ public class FormsForestPage extends BasePage {
      * @return list of selected skill values
      */
     public List<String> getSelectedSkills() {
-        return skillsCheckboxes.stream()
-                .filter(WebElement::isSelected)
-                .map(checkbox -> checkbox.getAttribute("value"))
-                .collect(Collectors.toList());
+        return skillsGroup.getSelectedValues();
     }
 
     /**
@@ -711,8 +730,7 @@ public class FormsForestPage extends BasePage {
      * @return true if the interest is selected
      */
     public boolean isInterestSelected(String interest) {
-        return interestsCheckboxes.stream()
-                .anyMatch(checkbox -> checkbox.getAttribute("value").equals(interest) && checkbox.isSelected());
+        return interestsGroup.isSelected(interest);
     }
 
     /**
@@ -721,8 +739,7 @@ public class FormsForestPage extends BasePage {
      * @return true if the skill is selected
      */
     public boolean isSkillSelected(String skill) {
-        return skillsCheckboxes.stream()
-                .anyMatch(checkbox -> checkbox.getAttribute("value").equals(skill) && checkbox.isSelected());
+        return skillsGroup.isSelected(skill);
     }
 
     // ========== FORMS FOREST SPECIFIC ASSERTIONS AND VALIDATIONS ==========
@@ -734,13 +751,8 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateFormSubmissionSuccess() {
         try {
-            // Wait for submission to complete
-            if (!waitForFormSubmission()) {
-                return false;
-            }
-            
-            // Check for success message
-            if (!isSuccessMessageDisplayed()) {
+            // Wait for submission to settle on a success message
+            if (waitForSubmissionOutcome() != FormOutcome.SUCCESS) {
                 return false;
             }
             
@@ -762,13 +774,9 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateFormSubmissionError() {
         try {
-            // Wait for submission to complete
-            if (!waitForFormSubmission()) {
-                return false;
-            }
-            
-            // Check for error indicators
-            return isErrorMessageDisplayed() || hasValidationErrors();
+            // Wait for submission to settle on an error indicator
+            FormOutcome outcome = waitForSubmissionOutcome();
+            return outcome == FormOutcome.ERROR || outcome == FormOutcome.VALIDATION;
         } catch (Exception e) {
             return false;
         }
@@ -781,7 +789,9 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateErrorMessage(String expectedErrorMessage) {
         try {
-            if (!isErrorMessageDisplayed()) {
+            // Let the submission settle, then check once
+            waitForSubmissionOutcome();
+            if (isElementAbsentNow(ERROR_MESSAGE)) {
                 return false;
             }
             
@@ -805,7 +815,8 @@ public class FormsForestPage extends BasePage {
                                                  "[name='" + fieldName + "'] ~ .field-error, " +
                                                  ".field-error[data-field='" + fieldName + "']");
             
-            if (!isElementDisplayed(fieldErrorLocator)) {
+            waitForSubmissionOutcome();
+            if (isElementAbsentNow(fieldErrorLocator)) {
                 return false;
             }
             
@@ -832,7 +843,7 @@ public class FormsForestPage extends BasePage {
             }
             
             // Check for validation errors
-            return hasValidationErrors() || isErrorMessageDisplayed();
+            return !isElementAbsentNow(VALIDATION_ERROR) || !isElementAbsentNow(ERROR_MESSAGE);
         } catch (Exception e) {
             return false;
         }
@@ -863,11 +874,7 @@ public class FormsForestPage extends BasePage {
      * @return true if username field is enabled for input
      */
     public boolean isUsernameFieldEnabled() {
-        try {
-            return usernameField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("username");
     }
 
     /**
@@ -875,11 +882,7 @@ public class FormsForestPage extends BasePage {
      * @return true if password field is enabled for input
      */
     public boolean isPasswordFieldEnabled() {
-        try {
-            return passwordField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("password");
     }
 
     /**
@@ -887,11 +890,7 @@ public class FormsForestPage extends BasePage {
      * @return true if email field is enabled for input
      */
     public boolean isEmailFieldEnabled() {
-        try {
-            return emailField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("email");
     }
 
     /**
@@ -899,11 +898,7 @@ public class FormsForestPage extends BasePage {
      * @return true if first name field is enabled for input
      */
     public boolean isFirstNameFieldEnabled() {
-        try {
-            return firstNameField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("firstName");
     }
 
     /**
@@ -911,11 +906,7 @@ public class FormsForestPage extends BasePage {
      * @return true if last name field is enabled for input
      */
     public boolean isLastNameFieldEnabled() {
-        try {
-            return lastNameField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("lastName");
     }
 
     /**
@@ -923,11 +914,7 @@ public class FormsForestPage extends BasePage {
      * @return true if phone number field is enabled for input
      */
     public boolean isPhoneNumberFieldEnabled() {
-        try {
-            return phoneNumberField.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("phone");
     }
 
     /**
@@ -935,11 +922,7 @@ public class FormsForestPage extends BasePage {
      * @return true if comments text area is enabled for input
      */
     public boolean isCommentsTextAreaEnabled() {
-        try {
-            return commentsTextArea.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("comments");
     }
 
     /**
@@ -947,11 +930,7 @@ public class FormsForestPage extends BasePage {
      * @return true if description text area is enabled for input
      */
     public boolean isDescriptionTextAreaEnabled() {
-        try {
-            return descriptionTextArea.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("description");
     }
 
     /**
@@ -959,11 +938,7 @@ public class FormsForestPage extends BasePage {
      * @return true if message text area is enabled for input
      */
     public boolean isMessageTextAreaEnabled() {
-        try {
-            return messageTextArea.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("message");
     }
 
     /**
@@ -971,11 +946,7 @@ public class FormsForestPage extends BasePage {
      * @return true if country dropdown is enabled for selection
      */
     public boolean isCountryDropdownEnabled() {
-        try {
-            return countryDropdown.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("country");
     }
 
     /**
@@ -983,11 +954,7 @@ public class FormsForestPage extends BasePage {
      * @return true if state dropdown is enabled for selection
      */
     public boolean isStateDropdownEnabled() {
-        try {
-            return stateDropdown.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("state");
     }
 
     /**
@@ -995,11 +962,7 @@ public class FormsForestPage extends BasePage {
      * @return true if terms checkbox is enabled for interaction
      */
     public boolean isTermsCheckboxEnabled() {
-        try {
-            return termsCheckbox.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("terms");
     }
 
     /**
@@ -1007,11 +970,7 @@ public class FormsForestPage extends BasePage {
      * @return true if newsletter checkbox is enabled for interaction
      */
     public boolean isNewsletterCheckboxEnabled() {
-        try {
-            return newsletterCheckbox.isEnabled();
-        } catch (Exception e) {
-            return false;
-        }
+        return isFieldEnabled("newsletter");
     }
 
     /**
@@ -1019,13 +978,26 @@ public class FormsForestPage extends BasePage {
      * @return true if reset button is enabled for clicking
      */
     public boolean isResetButtonEnabled() {
+        return isFieldEnabled("button:reset");
+    }
+
+    // One snapshot call instead of a lookup and an isEnabled call per field
+    private boolean isFieldEnabled(String key) {
         try {
-            return resetButton.isEnabled();
+            return captureFormState().isEnabled(key);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Capture the state of every form control and message in one browser call
+     * @return the form state snapshot
+     */
+    public FormStateSnapshot captureFormState() {
+        return FormStateSnapshot.capture(driver, SNAPSHOT_SELECTORS);
+    }
+
     /**
      * Validate that all form fields are in expected enabled/disabled state
      * @param shouldBeEnabled true if fields should be enabled, false if disabled
@@ -1033,13 +1005,9 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateAllFieldsState(boolean shouldBeEnabled) {
         try {
-            return isUsernameFieldEnabled() == shouldBeEnabled &&
-                   isPasswordFieldEnabled() == shouldBeEnabled &&
-                   isEmailFieldEnabled() == shouldBeEnabled &&
-                   isFirstNameFieldEnabled() == shouldBeEnabled &&
-                   isLastNameFieldEnabled() == shouldBeEnabled &&
-                   isPhoneNumberFieldEnabled() == shouldBeEnabled &&
-                   isSubmitButtonEnabled() == shouldBeEnabled;
+            FormStateSnapshot state = captureFormState();
+            return PRIMARY_FIELDS.stream()
+                    .allMatch(field -> state.field(field) != null && state.isEnabled(field) == shouldBeEnabled);
         } catch (Exception e) {
             return false;
         }
@@ -1052,23 +1020,33 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateFieldAccessibility(String fieldName) {
         try {
-            By fieldLocator = By.name(fieldName);
-            WebElement field = driver.findElement(fieldLocator);
-            
-            // Check for required accessibility attributes
-            String ariaLabel = field.getAttribute("aria-label");
-            String ariaDescribedBy = field.getAttribute("aria-describedby");
-            String id = field.getAttribute("id");
-            
-            // Field should have either aria-label or associated label
-            return (ariaLabel != null && !ariaLabel.isEmpty()) ||
-                   (id != null && !id.isEmpty()) ||
-                   (ariaDescribedBy != null && !ariaDescribedBy.isEmpty());
+            return hasAccessibilityAttributes(captureFormState().field(fieldName));
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Check a captured field's accessibility attributes
+     * @param field the field state, may be null
+     * @return true if the field has an aria-label, an id for an associated label or an aria-describedby
+     */
+    public static boolean hasAccessibilityAttributes(FormStateSnapshot.Field field) {
+        if (field == null) {
+            return false;
+        }
+
+        // Check for required accessibility attributes
+        String ariaLabel = field.aria("aria-label");
+        String ariaDescribedBy = field.aria("aria-describedby");
+        String id = field.id();
+
+        // Field should have either aria-label or associated label
+        return (ariaLabel != null && !ariaLabel.isEmpty()) ||
+               (id != null && !id.isEmpty()) ||
+               (ariaDescribedBy != null && !ariaDescribedBy.isEmpty());
+    }
+
     /**
      * Validate form field required attribute
      * @param fieldName the name of the field to validate
@@ -1076,11 +1054,8 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateFieldRequiredAttribute(String fieldName) {
         try {
-            By fieldLocator = By.name(fieldName);
-            WebElement field = driver.findElement(fieldLocator);
-            
-            String required = field.getAttribute("required");
-            return required != null;
+            FormStateSnapshot.Field field = captureFormState().field(fieldName);
+            return field != null && field.required();
         } catch (Exception e) {
             return false;
         }
@@ -1093,13 +1068,15 @@ public class FormsForestPage extends BasePage {
      */
     public boolean validateCompleteFormState() {
         try {
+            FormStateSnapshot state = captureFormState();
+
             // Check form is displayed and interactive
-            if (!isFormDisplayed() || !isSubmitButtonDisplayed()) {
+            if (!state.isVisible("form") || !state.isDisplayed("button:submit")) {
                 return false;
             }
             
             // Check all primary fields are enabled
-            if (!isUsernameFieldEnabled() || !isEmailFieldEnabled() || !isSubmitButtonEnabled()) {
+            if (!state.isEnabled("username") || !state.isEnabled("email") || !state.isEnabled("button:submit")) {
                 return false;
             }
             
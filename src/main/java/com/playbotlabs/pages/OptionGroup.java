@@ -0,0 +1,126 @@
+package com.playbotlabs.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group of checkboxes or radio buttons sharing one name attribute.
+ * The options are read with a single script call into a value to element
+ * index, so selecting a value costs one click instead of a round trip per
+ * option. The index is rebuilt when the page re-renders the group.
+ */
+public class OptionGroup {
+    private static final String OPTIONS_SCRIPT =
+            "return Array.prototype.map.call(document.getElementsByName(arguments[0])," +
+            "  function (option) { return [option, option.value, option.checked]; });";
+
+    private final WebDriver driver;
+    private final String name;
+    private Map<String, WebElement> index;
+
+    public OptionGroup(WebDriver driver, String name) {
+        this.driver = driver;
+        this.name = name;
+    }
+
+    /**
+     * Check every given value that is not already checked
+     * @param values the option values to check
+     */
+    public void check(Collection<String> values) {
+        retryOnStale(() -> {
+            List<String> selected = getSelectedValues();
+            for (String value : values) {
+                if (!selected.contains(value)) {
+                    click(value);
+                }
+            }
+        });
+    }
+
+    /**
+     * Uncheck every checked option
+     */
+    public void uncheckAll() {
+        retryOnStale(() -> {
+            for (String value : getSelectedValues()) {
+                click(value);
+            }
+        });
+    }
+
+    /**
+     * Click the option with the given value, as used for radio buttons
+     * Values that match no option are ignored
+     * @param value the option value to select
+     */
+    public void select(String value) {
+        retryOnStale(() -> click(value));
+    }
+
+    /**
+     * Get the values of all checked options, refreshing the index on the way
+     * @return checked option values in document order
+     */
+    public List<String> getSelectedValues() {
+        List<String> selected = new ArrayList<>();
+        Map<String, WebElement> options = new LinkedHashMap<>();
+        for (Object row : (List<?>) ((JavascriptExecutor) driver).executeScript(OPTIONS_SCRIPT, name)) {
+            List<?> option = (List<?>) row;
+            String value = (String) option.get(1);
+            options.putIfAbsent(value, (WebElement) option.get(0));
+            if (Boolean.TRUE.equals(option.get(2))) {
+                selected.add(value);
+            }
+        }
+        index = options;
+        return selected;
+    }
+
+    /**
+     * Get the checked value of a radio group
+     * @return the checked value or null if none is checked
+     */
+    public String getSelectedValue() {
+        List<String> selected = getSelectedValues();
+        return selected.isEmpty() ? null : selected.get(0);
+    }
+
+    /**
+     * Check whether the option with the given value is checked
+     * @param value the option value
+     * @return true if the option is checked
+     */
+    public boolean isSelected(String value) {
+        return getSelectedValues().contains(value);
+    }
+
+    private void click(String value) {
+        if (index == null || !index.containsKey(value)) {
+            getSelectedValues();
+        }
+        WebElement option = index.get(value);
+        if (option == null) {
+            return;
+        }
+        // The index script already found the option; a stale reference is handled by retryOnStale
+        option.click();
+    }
+
+    private void retryOnStale(Runnable action) {
+        try {
+            action.run();
+        } catch (StaleElementReferenceException e) {
+            index = null;
+            action.run();
+        }
+    }
+}
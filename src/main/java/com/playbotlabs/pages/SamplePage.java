@@ -1,11 +1,14 @@
 package com.playbotlabs.pages;
 
 import com.playbotlabs.config.ConfigManager;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 public class SamplePage extends BasePage {
 
+    private static final By SAMPLE_ELEMENT = By.id("sample-element");
+
     @FindBy(id = "sample-element")
     private WebElement sampleElement;
 
@@ -22,6 +25,6 @@ public class SamplePage extends BasePage {
     }
 
     public boolean isSampleElementDisplayed() {
-        return isElementDisplayed(sampleElement);
+        return waitForElementDisplayed(SAMPLE_ELEMENT);
     }
 }
\ No newline at end of file
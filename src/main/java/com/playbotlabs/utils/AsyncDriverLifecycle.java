@@ -0,0 +1,167 @@
+package com.playbotlabs.utils;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.config.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves browser start-up and shutdown off the scenario's critical path.
+ * The next session is launched in the background while the current
+ * scenario runs, and quitting a session is handed to a small reaper.
+ * Pre-spawned sessions count against browser.max.sessions: one is only
+ * launched when a permit is free, and a session keeps its permit until
+ * the reaper has actually quit it.
+ */
+public class AsyncDriverLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDriverLifecycle.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static final Map<String, BlockingQueue<Future<WebDriver>>> spawned = new ConcurrentHashMap<>();
+    private static final ExecutorService spawner = Executors.newCachedThreadPool(daemonThreads("driver-prespawn"));
+    private static final ExecutorService reaper = Executors.newFixedThreadPool(2, daemonThreads("driver-reaper"));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncDriverLifecycle::shutdown, "driver-lifecycle-shutdown"));
+    }
+
+    /**
+     * Take a pre-spawned session and start spawning the one after it
+     * @param browserName the browser type to acquire
+     * @return a ready WebDriver session
+     */
+    public static WebDriver acquire(String browserName) {
+        String browser = browserName.toLowerCase();
+        BlockingQueue<Future<WebDriver>> queue = spawned.computeIfAbsent(
+                DriverManager.sessionKey(browser), k -> new LinkedBlockingQueue<>());
+
+        Future<WebDriver> next;
+        synchronized (queue) {
+            topUp(browser, queue);
+            next = queue.poll();
+            topUp(browser, queue);
+        }
+
+        WebDriver driver = await(next);
+        return driver != null ? driver : DriverManager.createDriver(browser);
+    }
+
+    /**
+     * Quit a session on the reaper so the caller can return immediately
+     * @param driver the session to quit
+     */
+    public static void quitInBackground(WebDriver driver) {
+        reaper.execute(() -> quitQuietly(driver));
+    }
+
+    /**
+     * Quit one ready pre-spawned session so its browser.max.sessions permit can go to a scenario
+     * @return true if a session was closed
+     */
+    static boolean closeSpawnedSession() {
+        for (BlockingQueue<Future<WebDriver>> queue : spawned.values()) {
+            synchronized (queue) {
+                for (Future<WebDriver> future : queue) {
+                    if (future.state() == Future.State.SUCCESS && future.resultNow() != null) {
+                        queue.remove(future);
+                        quitQuietly(future.resultNow());
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quit pre-spawned sessions and wait for pending quits to finish
+     */
+    public static void shutdown() {
+        List<Future<WebDriver>> pending = new ArrayList<>();
+        spawned.values().forEach(queue -> queue.drainTo(pending));
+        spawner.shutdown();
+        for (Future<WebDriver> future : pending) {
+            try {
+                WebDriver driver = future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (driver != null) {
+                    quitQuietly(driver);
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                future.cancel(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        reaper.shutdown();
+        try {
+            reaper.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Spawner threads launch with the requesting thread's settings, so scoped overrides carry over.
+    // A spawn that finds no free session permit completes with null and the scenario launches its own.
+    private static void topUp(String browserName, BlockingQueue<Future<WebDriver>> queue) {
+        FrameworkConfig config = ConfigManager.getConfig();
+        while (queue.size() < ConfigManager.getDriverPrespawnDepth()) {
+            queue.offer(spawner.submit(() -> ConfigManager.callWith(config, () -> DriverManager.tryCreateDriver(browserName))));
+        }
+    }
+
+    private static WebDriver await(Future<WebDriver> future) {
+        try {
+            WebDriver driver = future.get();
+            if (driver == null) {
+                return null;
+            }
+            driver.getWindowHandle();
+            return driver;
+        } catch (ExecutionException e) {
+            logger.warn("Background browser launch failed, launching synchronously", e.getCause());
+            return null;
+        } catch (WebDriverException e) {
+            logger.warn("Pre-spawned browser is no longer responsive, launching synchronously", e);
+            quitInBackground(future.resultNow());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pre-spawned browser", e);
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            DriverManager.quitSession(driver);
+        } catch (WebDriverException e) {
+            // Session is already gone, nothing left to clean up
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,295 @@
+package com.playbotlabs.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled, memory-mapped form of a test data file's scenarios.
+ * The JSON file stays the source of truth: the binary records the size and modification
+ * time of the JSON it was compiled from and is ignored once they no longer match.
+ *
+ * Layout, all integers big-endian:
+ * <pre>
+ * int magic, int version, long sourceLastModified, long sourceLength
+ * int stringCount, int[stringCount + 1] stringOffsets, byte[] utf8StringData
+ * int scenarioCount, scenarioCount x (int nameId, int categoryBits, int firstField, int fieldCount)
+ * int[scenarioCount] scenarios sorted by name
+ * int fieldCount, fieldCount x (int keyId, int valueId)
+ * </pre>
+ * Every string is stored once in the string table and referenced by id.
+ */
+final class BinaryTestData implements ScenarioSource {
+    static final String EXTENSION = ".tdb";
+    private static final int MAGIC = 0x50425444;
+    private static final int VERSION = 1;
+    private static final int SCENARIO_ENTRY_BYTES = 16;
+    private static final int FIELD_ENTRY_BYTES = 8;
+    private static final ScenarioCategory[] CATEGORIES = ScenarioCategory.values();
+
+    private final File source;
+    private final long sourceLastModified;
+    private final long sourceLength;
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int stringOffsetsStart;
+    private final int stringDataStart;
+    private final int scenarioCount;
+    private final int scenariosStart;
+    private final int sortedStart;
+    private final int fieldsStart;
+    private final Set<String> scenarioNames;
+    private final Map<ScenarioCategory, List<String>> scenariosByCategory;
+    private final Map<Integer, Map<String, String>> materialized = new ConcurrentHashMap<>();
+
+    private BinaryTestData(File source, ByteBuffer buffer) {
+        this.source = source;
+        this.buffer = buffer;
+        this.sourceLastModified = buffer.getLong(8);
+        this.sourceLength = buffer.getLong(16);
+        this.stringCount = buffer.getInt(24);
+        this.stringOffsetsStart = 28;
+        this.stringDataStart = stringOffsetsStart + (stringCount + 1) * 4;
+        int scenarioCountAt = stringDataStart + buffer.getInt(stringOffsetsStart + stringCount * 4);
+        this.scenarioCount = buffer.getInt(scenarioCountAt);
+        this.scenariosStart = scenarioCountAt + 4;
+        this.sortedStart = scenariosStart + scenarioCount * SCENARIO_ENTRY_BYTES;
+        this.fieldsStart = sortedStart + scenarioCount * 4 + 4;
+
+        Set<String> names = new LinkedHashSet<>();
+        Map<ScenarioCategory, List<String>> byCategory = new EnumMap<>(ScenarioCategory.class);
+        for (ScenarioCategory category : CATEGORIES) {
+            byCategory.put(category, new ArrayList<>());
+        }
+        for (int scenario = 0; scenario < scenarioCount; scenario++) {
+            String name = string(scenarioInt(scenario, 0));
+            names.add(name);
+            int bits = scenarioInt(scenario, 1);
+            for (ScenarioCategory category : CATEGORIES) {
+                if ((bits & (1 << category.ordinal())) != 0) {
+                    byCategory.get(category).add(name);
+                }
+            }
+        }
+        byCategory.replaceAll((category, scenarios) -> List.copyOf(scenarios));
+        this.scenarioNames = Collections.unmodifiableSet(names);
+        this.scenariosByCategory = Collections.unmodifiableMap(byCategory);
+    }
+
+    /**
+     * Map a compiled file if it exists and matches its JSON source
+     * @param binary the compiled file
+     * @param source the JSON file it was compiled from
+     * @return the mapped data, or null if the binary is missing, unreadable or out of date
+     */
+    static BinaryTestData open(File binary, File source) {
+        if (!binary.isFile() || !source.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(binary, "r")) {
+            ByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+            if (buffer.limit() < 28 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return null;
+            }
+            BinaryTestData data = new BinaryTestData(source, buffer);
+            return data.isStale() ? null : data;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compile the scenarios of a JSON test data file
+     * @param source the JSON file
+     * @param binary the compiled file to write
+     */
+    static void compile(File source, File binary) throws IOException {
+        long lastModified = source.lastModified();
+        long length = source.length();
+        TestDataDocument document = TestDataDocument.load(source);
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>(document.getScenarioNames());
+        List<int[]> fields = new ArrayList<>();
+        List<int[]> scenarios = new ArrayList<>();
+        for (String name : names) {
+            int firstField = fields.size();
+            for (Map.Entry<String, String> field : document.getScenario(name).entrySet()) {
+                fields.add(new int[] {intern(strings, field.getKey()), intern(strings, field.getValue())});
+            }
+            int bits = 0;
+            for (ScenarioCategory category : document.getCategories(name)) {
+                bits |= 1 << category.ordinal();
+            }
+            scenarios.add(new int[] {intern(strings, name), bits, firstField, fields.size() - firstField});
+        }
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            sorted.add(i);
+        }
+        sorted.sort((a, b) -> names.get(a).compareTo(names.get(b)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastModified);
+            out.writeLong(length);
+            out.writeInt(strings.size());
+            List<byte[]> encoded = new ArrayList<>();
+            int offset = 0;
+            for (String string : strings.keySet()) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                encoded.add(utf8);
+                out.writeInt(offset);
+                offset += utf8.length;
+            }
+            out.writeInt(offset);
+            for (byte[] utf8 : encoded) {
+                out.write(utf8);
+            }
+            out.writeInt(scenarios.size());
+            for (int[] scenario : scenarios) {
+                for (int value : scenario) {
+                    out.writeInt(value);
+                }
+            }
+            for (int index : sorted) {
+                out.writeInt(index);
+            }
+            out.writeInt(fields.size());
+            for (int[] field : fields) {
+                out.writeInt(field[0]);
+                out.writeInt(field[1]);
+            }
+        }
+
+        File parent = binary.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parent.toPath());
+        File temp = File.createTempFile(binary.getName(), ".tmp", parent);
+        Files.write(temp.toPath(), bytes.toByteArray());
+        Files.move(temp.toPath(), binary.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int intern(Map<String, Integer> strings, String value) {
+        return strings.computeIfAbsent(value, key -> strings.size());
+    }
+
+    /**
+     * @return true if the JSON source changed since this binary was compiled
+     */
+    boolean isStale() {
+        return source.lastModified() != sourceLastModified || source.length() != sourceLength;
+    }
+
+    @Override
+    public Set<String> getScenarioNames() {
+        return scenarioNames;
+    }
+
+    @Override
+    public Map<String, String> getScenario(String scenarioName) {
+        int scenario = find(scenarioName);
+        if (scenario < 0) {
+            return null;
+        }
+        return materialized.computeIfAbsent(scenario, index -> {
+            Map<String, String> fields = new LinkedHashMap<>();
+            int first = scenarioInt(index, 2);
+            int count = scenarioInt(index, 3);
+            for (int field = first; field < first + count; field++) {
+                fields.put(string(fieldInt(field, 0)), string(fieldInt(field, 1)));
+            }
+            return Collections.unmodifiableMap(fields);
+        });
+    }
+
+    @Override
+    public String getField(String scenarioName, String fieldName) {
+        int scenario = find(scenarioName);
+        if (scenario < 0) {
+            return null;
+        }
+        int first = scenarioInt(scenario, 2);
+        int count = scenarioInt(scenario, 3);
+        for (int field = first; field < first + count; field++) {
+            if (string(fieldInt(field, 0)).equals(fieldName)) {
+                return string(fieldInt(field, 1));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<ScenarioCategory> getCategories(String scenarioName) {
+        int scenario = find(scenarioName);
+        if (scenario < 0) {
+            return null;
+        }
+        int bits = scenarioInt(scenario, 1);
+        EnumSet<ScenarioCategory> categories = EnumSet.noneOf(ScenarioCategory.class);
+        for (ScenarioCategory category : CATEGORIES) {
+            if ((bits & (1 << category.ordinal())) != 0) {
+                categories.add(category);
+            }
+        }
+        return Collections.unmodifiableSet(categories);
+    }
+
+    @Override
+    public List<String> getScenarios(ScenarioCategory category) {
+        return scenariosByCategory.get(category);
+    }
+
+    // Binary search over the name-sorted scenario index
+    private int find(String scenarioName) {
+        int low = 0;
+        int high = scenarioCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int scenario = buffer.getInt(sortedStart + middle * 4);
+            int comparison = string(scenarioInt(scenario, 0)).compareTo(scenarioName);
+            if (comparison == 0) {
+                return scenario;
+            } else if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int scenarioInt(int scenario, int column) {
+        return buffer.getInt(scenariosStart + scenario * SCENARIO_ENTRY_BYTES + column * 4);
+    }
+
+    private int fieldInt(int field, int column) {
+        return buffer.getInt(fieldsStart + field * FIELD_ENTRY_BYTES + column * 4);
+    }
+
+    private String string(int id) {
+        int start = buffer.getInt(stringOffsetsStart + id * 4);
+        int end = buffer.getInt(stringOffsetsStart + (id + 1) * 4);
+        byte[] utf8 = new byte[end - start];
+        buffer.get(stringDataStart + start, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
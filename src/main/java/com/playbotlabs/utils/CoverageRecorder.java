@@ -0,0 +1,275 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records which step definitions, page object methods and test data keys each scenario uses,
+ * for test impact analysis. Recording is off unless impact.record is true; when on, browser sessions
+ * are wrapped so every WebDriver call notes the page and step methods on the calling thread's stack.
+ * Coverage of passing scenarios is merged into the impact map file when the JVM exits; failed
+ * scenarios, and scenarios that never reached a browser (as in a dry run), are dropped from the map
+ * so they always run until a full recording exists again.
+ *
+ * Units are plain strings: "step:FormsForestSteps.i_submit_the_form", "page:BasePage.click",
+ * "data:forms-forest-data.json#validData", or "data:forms-forest-data.json" when the whole file was read.
+ */
+public class CoverageRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(CoverageRecorder.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PAGES_PACKAGE = "com.playbotlabs.pages.";
+    private static final String STEPS_PACKAGE = "com.playbotlabs.steps.";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private static final File mapFile = new File(ConfigManager.getImpactMapFile());
+
+    private record Recording(String scenarioId, Set<String> units, AtomicBoolean usedBrowser) {
+    }
+
+    private static final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private static final Map<String, Set<String>> recordedThisRun = new ConcurrentHashMap<>();
+    private static final Set<String> failedThisRun = ConcurrentHashMap.newKeySet();
+
+    static {
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(CoverageRecorder::save, "impact-map-save"));
+        }
+    }
+
+    /**
+     * @return true if this run records coverage
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.isImpactRecordEnabled();
+    }
+
+    /**
+     * Start recording a scenario on the calling thread
+     * @param scenarioId the scenario ID from {@link ScenarioDurationHistory#idOf}
+     */
+    public static void start(String scenarioId) {
+        current.set(new Recording(scenarioId, ConcurrentHashMap.newKeySet(), new AtomicBoolean()));
+    }
+
+    /**
+     * Note a unit used by the calling thread's scenario; does nothing outside a recording
+     * @param unit the step, page or data unit
+     */
+    public static void record(String unit) {
+        Recording recording = current.get();
+        if (recording != null) {
+            recording.units().add(unit);
+        }
+    }
+
+    /**
+     * Note a test data lookup; only the top-level key of a dotted path is kept
+     * @param fileName the file name inside the test data directory
+     * @param path a dotted path or scenario name, or null when the whole file was read
+     */
+    public static void recordData(String fileName, String path) {
+        if (current.get() != null) {
+            int dot = path == null ? -1 : path.indexOf('.');
+            record(dataUnit(fileName, dot < 0 ? path : path.substring(0, dot)));
+        }
+    }
+
+    /**
+     * Stop recording the calling thread's scenario
+     * @param passed true to keep the coverage of a scenario that drove a browser, false to drop the scenario from the map
+     * @return the units the scenario used, empty if nothing was being recorded
+     */
+    public static Set<String> finish(boolean passed) {
+        Recording recording = current.get();
+        current.remove();
+        if (recording == null) {
+            return Set.of();
+        }
+        Set<String> units = new TreeSet<>(recording.units());
+        if (passed && recording.usedBrowser().get()) {
+            failedThisRun.remove(recording.scenarioId());
+            recordedThisRun.put(recording.scenarioId(), units);
+        } else {
+            recordedThisRun.remove(recording.scenarioId());
+            failedThisRun.add(recording.scenarioId());
+        }
+        return units;
+    }
+
+    /**
+     * Wrap a browser session so its calls are attributed to the page and step methods making them
+     * @param driver the session
+     * @return the wrapped session, usable wherever the original was
+     */
+    static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] args) {
+                Recording recording = current.get();
+                if (recording != null) {
+                    recording.usedBrowser().set(true);
+                    recordCallers();
+                }
+            }
+        }).decorate(driver);
+    }
+
+    /**
+     * Wrap a test data map so only the top-level keys actually looked up are recorded
+     * @param fileName the file the values come from
+     * @param values dotted paths to values
+     * @return a read-only view recording lookups, or the map itself when not recording
+     */
+    static Map<String, String> recording(String fileName, Map<String, String> values) {
+        return current.get() == null ? values : new RecordingMap(fileName, values);
+    }
+
+    /**
+     * Read the impact map file
+     * @return scenario ID to the units it used when it last passed, empty if there is no map yet
+     */
+    public static Map<String, Set<String>> readMap() {
+        return read(mapFile);
+    }
+
+    /**
+     * Merge this run's coverage into the impact map file
+     */
+    public static synchronized void save() {
+        if (recordedThisRun.isEmpty() && failedThisRun.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> merged = new TreeMap<>(read(mapFile));
+        merged.putAll(recordedThisRun);
+        merged.keySet().removeAll(failedThisRun);
+        try {
+            File parent = mapFile.getAbsoluteFile().getParentFile();
+            Files.createDirectories(parent.toPath());
+            File temp = File.createTempFile("impact-map", ".json", parent);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp, merged);
+            Files.move(temp.toPath(), mapFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Saved coverage of {} scenarios to {}", recordedThisRun.size(), mapFile);
+            recordedThisRun.clear();
+            failedThisRun.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to save the impact map to {}", mapFile, e);
+        }
+    }
+
+    /**
+     * @param className the step definition class simple name
+     * @param method the method name
+     * @return the unit for a step definition method
+     */
+    public static String stepUnit(String className, String method) {
+        return "step:" + className + "." + method;
+    }
+
+    /**
+     * @param className the page object class simple name
+     * @param method the method name
+     * @return the unit for a page object method
+     */
+    public static String pageUnit(String className, String method) {
+        return "page:" + className + "." + method;
+    }
+
+    /**
+     * @param fileName the test data file name
+     * @param key a top-level key, or null for the whole file
+     * @return the unit for test data
+     */
+    public static String dataUnit(String fileName, String key) {
+        return key == null ? "data:" + fileName : "data:" + fileName + "#" + key;
+    }
+
+    private static void recordCallers() {
+        stackWalker.forEach(frame -> {
+            String className = frame.getClassName();
+            boolean page = className.startsWith(PAGES_PACKAGE);
+            if (page || className.startsWith(STEPS_PACKAGE)) {
+                String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                int nested = simpleName.indexOf('$');
+                simpleName = nested < 0 ? simpleName : simpleName.substring(0, nested);
+                String method = enclosingMethod(frame.getMethodName());
+                record(page ? pageUnit(simpleName, method) : stepUnit(simpleName, method));
+            }
+        });
+    }
+
+    // Lambdas compile to methods such as "lambda$selectSkills$0"; attribute them to the method they appear in
+    private static String enclosingMethod(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return end < 0 ? methodName : methodName.substring("lambda$".length(), end);
+        }
+        return methodName;
+    }
+
+    private static Map<String, Set<String>> read(File file) {
+        if (!file.isFile()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(file, new TypeReference<Map<String, Set<String>>>() {});
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable impact map at {}", file, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Read-only view of a test data file's values that records the keys looked up, and the whole file when iterated
+     */
+    private static final class RecordingMap extends AbstractMap<String, String> {
+        private final String fileName;
+        private final Map<String, String> values;
+
+        RecordingMap(String fileName, Map<String, String> values) {
+            this.fileName = fileName;
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            recordData(fileName, String.valueOf(key));
+            return values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            recordData(fileName, String.valueOf(key));
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            recordData(fileName, null);
+            return values.entrySet();
+        }
+    }
+}
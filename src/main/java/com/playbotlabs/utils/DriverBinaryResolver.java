@@ -0,0 +1,127 @@
+package com.playbotlabs.utils;
+
+import com.playbotlabs.config.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves each browser's driver binary once per JVM.
+ * Binaries are taken from the pinned driver directory when configured,
+ * otherwise WebDriverManager resolves them on first use only.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<String, ResolvedDriver> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Result of resolving a driver binary
+     * @param browserName the browser the binary belongs to
+     * @param path absolute path of the driver binary
+     * @param source where the binary came from ("pinned" or "webdrivermanager")
+     * @param resolutionMillis how long the one-time resolution took
+     */
+    public record ResolvedDriver(String browserName, String path, String source, long resolutionMillis) {
+    }
+
+    /**
+     * Resolve the driver binary for a browser, reusing the first result for the rest of the JVM
+     * @param browserName chrome, firefox or edge
+     * @return the memoized resolution result
+     */
+    public static ResolvedDriver resolve(String browserName) {
+        return resolved.computeIfAbsent(browserName.toLowerCase(), DriverBinaryResolver::doResolve);
+    }
+
+    /**
+     * Get the total time spent resolving driver binaries in this JVM
+     * @return resolution time in milliseconds summed over all browsers
+     */
+    public static long getTotalResolutionMillis() {
+        return resolved.values().stream().mapToLong(ResolvedDriver::resolutionMillis).sum();
+    }
+
+    private static ResolvedDriver doResolve(String browserName) {
+        long start = System.nanoTime();
+        String systemProperty = driverSystemProperty(browserName);
+
+        String path;
+        String source;
+        File pinned = findPinnedBinary(browserName);
+        if (pinned != null) {
+            path = pinned.getAbsolutePath();
+            source = "pinned";
+            System.setProperty(systemProperty, path);
+        } else if (ConfigManager.isDriverOffline()) {
+            throw new RuntimeException("Offline driver mode is enabled but no " + binaryName(browserName)
+                    + " was found in " + ConfigManager.getDriverBinaryDir());
+        } else {
+            WebDriverManager manager = webDriverManager(browserName);
+            manager.setup();
+            path = manager.getDownloadedDriverPath();
+            source = "webdrivermanager";
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Resolved {} driver from {} in {}ms: {}", browserName, source, elapsedMillis, path);
+        return new ResolvedDriver(browserName, path, source, elapsedMillis);
+    }
+
+    private static File findPinnedBinary(String browserName) {
+        String driverDir = ConfigManager.getDriverBinaryDir();
+        if (driverDir == null || driverDir.isEmpty()) {
+            return null;
+        }
+        String binary = binaryName(browserName);
+        for (String candidate : new String[]{binary, binary + ".exe"}) {
+            File file = new File(driverDir, candidate);
+            if (file.isFile() && file.canExecute()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static WebDriverManager webDriverManager(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserName);
+        }
+    }
+
+    private static String binaryName(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                return "chromedriver";
+            case "firefox":
+                return "geckodriver";
+            case "edge":
+                return "msedgedriver";
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserName);
+        }
+    }
+
+    private static String driverSystemProperty(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("No driver binary to resolve for browser: " + browserName);
+        }
+    }
+}
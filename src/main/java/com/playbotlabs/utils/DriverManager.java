@@ -1,7 +1,6 @@
 package com.playbotlabs.utils;
 
 import com.playbotlabs.config.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -10,53 +9,137 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.safari.SafariDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DriverManager {
+    private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final Semaphore sessionPermits = createSessionPermits();
+    private static final AtomicLong sessionReleases = new AtomicLong();
 
     public static void setDriver(String browserName) {
+        if (ConfigManager.isDriverPoolEnabled()) {
+            driver.set(DriverPool.lease(browserName));
+        } else if (ConfigManager.isDriverPrespawnEnabled()) {
+            driver.set(AsyncDriverLifecycle.acquire(browserName));
+        } else {
+            driver.set(createDriver(browserName));
+        }
+    }
+
+    /**
+     * Launch a new browser session, bypassing the pool. The session holds one of the
+     * browser.max.sessions permits until it is closed with {@link #quitSession(WebDriver)}.
+     * @param browserName the browser to launch (chrome, firefox, edge, safari)
+     * @return a fresh, configured WebDriver session
+     */
+    static WebDriver createDriver(String browserName) {
+        acquireSessionPermit();
+        return launchHoldingPermit(browserName);
+    }
+
+    /**
+     * Launch a new browser session only if one is allowed right now, for sessions started ahead of need
+     * @param browserName the browser to launch
+     * @return a fresh session, or null when every browser.max.sessions permit is taken
+     */
+    static WebDriver tryCreateDriver(String browserName) {
+        try {
+            // The timed form honours fairness, so a session started ahead of need never overtakes a waiting scenario
+            if (sessionPermits != null && !sessionPermits.tryAcquire(0, TimeUnit.SECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return launchHoldingPermit(browserName);
+    }
+
+    /**
+     * Quit a session launched by {@link #createDriver(String)} and give back its permit
+     * @param session the session to quit
+     */
+    static void quitSession(WebDriver session) {
+        try {
+            session.quit();
+        } finally {
+            releaseSessionPermit();
+        }
+    }
+
+    private static WebDriver launchHoldingPermit(String browserName) {
+        try {
+            return launch(browserName);
+        } catch (RuntimeException e) {
+            releaseSessionPermit();
+            throw e;
+        }
+    }
+
+    private static WebDriver launch(String browserName) {
+        WebDriver newDriver;
         switch (browserName.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryResolver.resolve("chrome");
                 ChromeOptions chromeOptions = new ChromeOptions();
                 if (ConfigManager.isHeadless()) {
                     chromeOptions.addArguments("--headless");
                 }
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
-                driver.set(new ChromeDriver(chromeOptions));
+                newDriver = new ChromeDriver(chromeOptions);
                 break;
 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                DriverBinaryResolver.resolve("firefox");
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (ConfigManager.isHeadless()) {
                     firefoxOptions.addArguments("--headless");
                 }
-                driver.set(new FirefoxDriver(firefoxOptions));
+                newDriver = new FirefoxDriver(firefoxOptions);
                 break;
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
+                DriverBinaryResolver.resolve("edge");
                 EdgeOptions edgeOptions = new EdgeOptions();
                 if (ConfigManager.isHeadless()) {
                     edgeOptions.addArguments("--headless");
                 }
-                driver.set(new EdgeDriver(edgeOptions));
+                newDriver = new EdgeDriver(edgeOptions);
                 break;
 
             case "safari":
-                driver.set(new SafariDriver());
+                newDriver = new SafariDriver();
                 break;
 
             default:
                 throw new IllegalArgumentException("Browser not supported: " + browserName);
         }
 
-        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
-        getDriver().manage().window().maximize();
+        Duration implicitWait = ConfigManager.isExplicitWaitEngine()
+                ? Duration.ZERO
+                : Duration.ofSeconds(ConfigManager.getImplicitWait());
+        newDriver.manage().timeouts().implicitlyWait(implicitWait);
+        newDriver.manage().window().maximize();
+        return CoverageRecorder.isEnabled() ? CoverageRecorder.decorate(newDriver) : newDriver;
+    }
+
+    /**
+     * Key for sessions that can stand in for each other, so pooled and pre-spawned sessions
+     * are only handed to scenarios running with the same browser and headless settings
+     * @param browserName the browser to launch
+     * @return the browser name, suffixed when the calling thread's settings are headless
+     */
+    static String sessionKey(String browserName) {
+        String browser = browserName.toLowerCase();
+        return ConfigManager.isHeadless() ? browser + ":headless" : browser;
     }
 
     public static WebDriver getDriver() {
@@ -64,9 +147,74 @@ public class DriverManager {
     }
 
     public static void quitDriver() {
-        if (driver.get() != null) {
-            driver.get().quit();
-            driver.remove();
+        WebDriver current = driver.get();
+        if (current != null) {
+            try {
+                if (ConfigManager.isDriverPoolEnabled()) {
+                    DriverPool.release(current);
+                } else if (ConfigManager.isDriverAsyncQuitEnabled()) {
+                    AsyncDriverLifecycle.quitInBackground(current);
+                } else {
+                    quitSession(current);
+                }
+            } finally {
+                driver.remove();
+                WaitUtils.releaseWaits();
+            }
+        }
+    }
+
+    /**
+     * Get the number of additional browser sessions that may be opened right now.
+     * Every live browser holds a permit, including idle pooled and pre-spawned ones.
+     * @return free session permits, or -1 when sessions are not capped
+     */
+    public static int getAvailableSessionPermits() {
+        return sessionPermits == null ? -1 : sessionPermits.availablePermits();
+    }
+
+    private static Semaphore createSessionPermits() {
+        int maxSessions = ConfigManager.getBrowserMaxSessions();
+        return maxSessions > 0 ? new Semaphore(maxSessions, true) : null;
+    }
+
+    private static void acquireSessionPermit() {
+        if (sessionPermits == null) {
+            return;
+        }
+        // Idle pooled and pre-spawned browsers hold permits too; close one rather than wait on them
+        if (sessionPermits.availablePermits() == 0) {
+            if (ConfigManager.isDriverPoolEnabled() && DriverPool.closeIdleSession()) {
+                logger.debug("Closed an idle pooled browser to stay within browser.max.sessions");
+            } else if (ConfigManager.isDriverPrespawnEnabled() && AsyncDriverLifecycle.closeSpawnedSession()) {
+                logger.debug("Closed a pre-spawned browser to stay within browser.max.sessions");
+            }
+        }
+        int waitSeconds = ConfigManager.getBrowserSessionWaitSeconds();
+        try {
+            // Wait in the fair queue for as long as sessions keep being released;
+            // fail only when a whole wait window passes without any session closing
+            long releasesBefore = sessionReleases.get();
+            while (!sessionPermits.tryAcquire(waitSeconds, TimeUnit.SECONDS)) {
+                long releasesNow = sessionReleases.get();
+                if (releasesNow == releasesBefore) {
+                    throw new IllegalStateException("No browser session was released within " + waitSeconds
+                            + "s; all " + ConfigManager.getBrowserMaxSessions() + " sessions allowed by browser.max.sessions"
+                            + " are in use. Raise browser.max.sessions or browser.max.sessions.wait.seconds,"
+                            + " or check for scenarios that never quit their driver");
+                }
+                releasesBefore = releasesNow;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session permit", e);
+        }
+    }
+
+    private static void releaseSessionPermit() {
+        if (sessionPermits != null) {
+            sessionReleases.incrementAndGet();
+            sessionPermits.release();
         }
     }
-}
\ No newline at end of file
+}
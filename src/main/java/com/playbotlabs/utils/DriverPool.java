@@ -0,0 +1,270 @@
+package com.playbotlabs.utils;
+
+import com.playbotlabs.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of warm browser sessions, keyed by browser type and headless mode.
+ * Sessions are leased to a scenario thread, reset when released and
+ * recycled after a configured number of leases or a failed health check.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private static final AtomicLong leaseCount = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong recycleCount = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Lease a session for the given browser, reusing an idle one when available
+     * @param browserName the browser type to lease
+     * @return a healthy WebDriver session owned by the caller until released
+     */
+    public static WebDriver lease(String browserName) {
+        BrowserPool pool = pools.computeIfAbsent(DriverManager.sessionKey(browserName),
+                key -> new BrowserPool(key, browserName.toLowerCase()));
+        long start = System.nanoTime();
+
+        PooledSession session = null;
+        boolean reused = false;
+        while (session == null) {
+            session = pool.idle.poll();
+            reused = session != null;
+            if (session == null && pool.reserveSlot()) {
+                session = pool.open();
+            } else if (session == null) {
+                session = pool.awaitIdle();
+                reused = session != null;
+            }
+            if (reused && !isHealthy(session.driver)) {
+                recycleCount.incrementAndGet();
+                destroy(pool, session);
+                session = null;
+            }
+        }
+
+        long waited = System.nanoTime() - start;
+        leaseCount.incrementAndGet();
+        if (reused) {
+            hitCount.incrementAndGet();
+        }
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        session.leases++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Return a leased session to its pool, resetting or recycling it
+     * @param driver the session previously obtained from {@link #lease(String)}
+     */
+    public static void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            DriverManager.quitSession(driver);
+            return;
+        }
+        BrowserPool pool = pools.get(session.poolKey);
+        if (session.leases >= ConfigManager.getDriverPoolMaxLeases() || !reset(session)) {
+            recycleCount.incrementAndGet();
+            destroy(pool, session);
+            return;
+        }
+        pool.idle.offer(session);
+    }
+
+    /**
+     * Get the fraction of leases served by an already running session
+     * @return hit rate between 0.0 and 1.0
+     */
+    public static double getHitRate() {
+        long leases = leaseCount.get();
+        return leases == 0 ? 0.0 : (double) hitCount.get() / leases;
+    }
+
+    /**
+     * Get the average time a scenario waited for its session
+     * @return average lease wait in milliseconds
+     */
+    public static double getAverageLeaseWaitMillis() {
+        long leases = leaseCount.get();
+        return leases == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / leases;
+    }
+
+    /**
+     * Get the longest time a scenario waited for its session
+     * @return maximum lease wait in milliseconds
+     */
+    public static double getMaxLeaseWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Summarise pool usage for logs and reports
+     * @return human readable pool statistics
+     */
+    public static String getStats() {
+        return String.format("leases=%d, hitRate=%.1f%%, avgWait=%.1fms, maxWait=%.1fms, recycled=%d",
+                leaseCount.get(), getHitRate() * 100, getAverageLeaseWaitMillis(),
+                getMaxLeaseWaitMillis(), recycleCount.get());
+    }
+
+    /**
+     * Quit every idle session and log the pool statistics
+     */
+    public static void shutdown() {
+        for (BrowserPool pool : pools.values()) {
+            List<PooledSession> drained = new ArrayList<>();
+            pool.idle.drainTo(drained);
+            drained.forEach(session -> destroy(pool, session));
+        }
+        if (leaseCount.get() > 0) {
+            logger.info("Driver pool: {}", getStats());
+        }
+    }
+
+    /**
+     * Quit one idle session from any pool so its browser.max.sessions permit can go to a new session
+     * @return true if a session was closed
+     */
+    static boolean closeIdleSession() {
+        for (BrowserPool pool : pools.values()) {
+            PooledSession session = pool.idle.poll();
+            if (session != null) {
+                destroy(pool, session);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (!handles.contains(session.mainHandle)) {
+                // The scenario closed the window the session started with; start over with a fresh browser
+                return false;
+            }
+            for (String handle : handles) {
+                if (!handle.equals(session.mainHandle)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(session.mainHandle);
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void destroy(BrowserPool pool, PooledSession session) {
+        pool.openSessions.decrementAndGet();
+        try {
+            DriverManager.quitSession(session.driver);
+        } catch (WebDriverException e) {
+            // Session is already gone, nothing left to clean up
+        }
+    }
+
+    private static final class PooledSession {
+        private final String poolKey;
+        private final WebDriver driver;
+        // The window the browser opened with, kept open by reset while every other window is closed
+        private final String mainHandle;
+        private int leases;
+
+        private PooledSession(String poolKey, WebDriver driver, String mainHandle) {
+            this.poolKey = poolKey;
+            this.driver = driver;
+            this.mainHandle = mainHandle;
+        }
+    }
+
+    private static final class BrowserPool {
+        private final String key;
+        private final String browserName;
+        private final BlockingQueue<PooledSession> idle = new LinkedBlockingQueue<>();
+        private final AtomicInteger openSessions = new AtomicInteger();
+
+        private BrowserPool(String key, String browserName) {
+            this.key = key;
+            this.browserName = browserName;
+        }
+
+        private boolean reserveSlot() {
+            int max = ConfigManager.getDriverPoolSize();
+            int current;
+            do {
+                current = openSessions.get();
+                if (current >= max) {
+                    return false;
+                }
+            } while (!openSessions.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private PooledSession open() {
+            try {
+                WebDriver driver = DriverManager.createDriver(browserName);
+                try {
+                    return new PooledSession(key, driver, driver.getWindowHandle());
+                } catch (WebDriverException e) {
+                    DriverManager.quitSession(driver);
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                openSessions.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private PooledSession awaitIdle() {
+            try {
+                return idle.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a " + browserName + " session", e);
+            }
+        }
+    }
+}
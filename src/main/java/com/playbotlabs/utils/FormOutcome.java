@@ -0,0 +1,13 @@
+package com.playbotlabs.utils;
+
+/**
+ * Result of waiting for a form submission to settle.
+ * The order of the first three constants matches the order in which
+ * candidate selectors are passed to {@link WaitUtils#waitForOutcome}.
+ */
+public enum FormOutcome {
+    SUCCESS,
+    ERROR,
+    VALIDATION,
+    TIMEOUT
+}
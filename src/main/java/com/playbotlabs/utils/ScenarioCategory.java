@@ -0,0 +1,66 @@
+package com.playbotlabs.utils;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Categories a test data scenario can belong to.
+ * A scenario may set them explicitly with a "category" field (a name or an array of names,
+ * e.g. "edge-case"), otherwise they are guessed from the scenario name.
+ */
+public enum ScenarioCategory {
+    VALID,
+    INVALID,
+    EDGE_CASE;
+
+    /**
+     * Guess the categories of a scenario from its name
+     * @param scenarioName the scenario name, e.g. "invalidEmailFormat"
+     * @return the matching categories, empty if none match
+     */
+    public static EnumSet<ScenarioCategory> fromName(String scenarioName) {
+        String name = scenarioName.toLowerCase(Locale.ROOT);
+        EnumSet<ScenarioCategory> categories = EnumSet.noneOf(ScenarioCategory.class);
+        if (name.contains("valid") && !name.contains("invalid")) {
+            categories.add(VALID);
+        }
+        if (name.contains("invalid") || name.contains("empty") || name.contains("special") || name.contains("sql")
+                || name.contains("xss") || name.contains("long") || name.contains("terms") && name.contains("not")) {
+            categories.add(INVALID);
+        }
+        if (name.contains("special") || name.contains("unicode") || name.contains("long") || name.contains("sql")
+                || name.contains("xss") || name.contains("numeric") || name.contains("whitespace")
+                || name.contains("international") || name.contains("alternate")) {
+            categories.add(EDGE_CASE);
+        }
+        return categories;
+    }
+
+    /**
+     * Parse a comma separated list of category names, as used in CSV and NDJSON data
+     * @param value the names, e.g. "valid,edge-case"
+     * @return the categories
+     */
+    public static EnumSet<ScenarioCategory> parseAll(String value) {
+        EnumSet<ScenarioCategory> categories = EnumSet.noneOf(ScenarioCategory.class);
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                categories.add(parse(name));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Parse a category name as written in test data
+     * @param value the name, case-insensitive, with "-" or "_" separators
+     * @return the category
+     */
+    public static ScenarioCategory parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown scenario category: " + value, e);
+        }
+    }
+}
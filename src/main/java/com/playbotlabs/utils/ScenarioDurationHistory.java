@@ -0,0 +1,157 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Remembers how long each scenario took in previous runs.
+ * Durations are kept as a moving average per scenario ID ("feature path:line") and browser matrix cell
+ * ("chrome:headless"), and merged into the history file when the JVM exits, so schedulers can order
+ * and split the next run by cost.
+ */
+public class ScenarioDurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioDurationHistory.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Weight of the latest run in the moving average, so one slow run does not reorder the suite
+    private static final double LATEST_RUN_WEIGHT = 0.3;
+
+    private static final File historyFile = new File(ConfigManager.getScenarioDurationFile());
+
+    // Keyed by "scenario ID@cell", sorted so all cells of a scenario are one range
+    private static final NavigableMap<String, Long> history = new ConcurrentSkipListMap<>();
+    private static final Map<String, Long> recordedThisRun = new ConcurrentHashMap<>();
+
+    static {
+        history.putAll(read(historyFile));
+        Runtime.getRuntime().addShutdownHook(new Thread(ScenarioDurationHistory::save, "scenario-duration-save"));
+    }
+
+    /**
+     * Build the stable ID of a scenario
+     * @param featureUri the feature file URI as reported by Cucumber
+     * @param line the line of the scenario, or of the example row for scenario outlines
+     * @return the feature path relative to the working directory and the line, e.g. "src/test/resources/features/forms-forest.feature:12"
+     */
+    public static String idOf(URI featureUri, int line) {
+        String path;
+        if ("file".equalsIgnoreCase(featureUri.getScheme())) {
+            Path feature = Paths.get(featureUri).toAbsolutePath().normalize();
+            Path base = Paths.get("").toAbsolutePath();
+            path = feature.startsWith(base) ? base.relativize(feature).toString() : feature.toString();
+        } else {
+            path = featureUri.getSchemeSpecificPart();
+        }
+        return path.replace('\\', '/') + ":" + line;
+    }
+
+    /**
+     * Name the browser matrix cell a scenario runs in, in the same form as browser.matrix entries
+     * @param browser the browser name
+     * @param headless whether the browser runs headless
+     * @return the cell, e.g. "chrome:headless"
+     */
+    public static String cellOf(String browser, boolean headless) {
+        return browser.trim().toLowerCase() + (headless ? ":headless" : ":headed");
+    }
+
+    /**
+     * Get the browser matrix cell of the current thread's configuration
+     * @return the cell, e.g. "firefox:headed"
+     */
+    public static String currentCell() {
+        return cellOf(ConfigManager.getBrowser(), ConfigManager.isHeadless());
+    }
+
+    /**
+     * Record how long a scenario took in one matrix cell; the longest run wins if it ran more than once
+     * @param scenarioId the scenario ID from {@link #idOf(URI, int)}
+     * @param cell the matrix cell from {@link #cellOf(String, boolean)}
+     * @param duration the scenario's wall-clock duration
+     */
+    public static void record(String scenarioId, String cell, Duration duration) {
+        recordedThisRun.merge(keyOf(scenarioId, cell), duration.toMillis(), Math::max);
+    }
+
+    /**
+     * Get the expected duration of a scenario in the current thread's matrix cell, or its longest
+     * duration in any other cell when it never ran in this one
+     * @param scenarioId the scenario ID from {@link #idOf(URI, int)}
+     * @return the moving average in milliseconds, or -1 if the scenario has no history
+     */
+    public static long getMillis(String scenarioId) {
+        Long millis = history.get(keyOf(scenarioId, currentCell()));
+        if (millis != null) {
+            return millis;
+        }
+        String prefix = keyOf(scenarioId, "");
+        return history.subMap(prefix, prefix + Character.MAX_VALUE).values().stream()
+                .mapToLong(Long::longValue).max().orElse(-1L);
+    }
+
+    static String keyOf(String scenarioId, String cell) {
+        return scenarioId + "@" + cell;
+    }
+
+    /**
+     * @return true if any scenario has a recorded duration
+     */
+    public static boolean hasHistory() {
+        return !history.isEmpty();
+    }
+
+    /**
+     * Merge this run's durations into the history file
+     */
+    public static synchronized void save() {
+        if (recordedThisRun.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(read(historyFile));
+        recordedThisRun.forEach((id, millis) -> merged.merge(id, millis,
+                (previous, latest) -> Math.round(previous * (1 - LATEST_RUN_WEIGHT) + latest * LATEST_RUN_WEIGHT)));
+        try {
+            File parent = historyFile.getAbsoluteFile().getParentFile();
+            Files.createDirectories(parent.toPath());
+            File temp = File.createTempFile("scenario-durations", ".json", parent);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp, merged);
+            Files.move(temp.toPath(), historyFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            history.putAll(merged);
+            recordedThisRun.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to save scenario durations to {}", historyFile, e);
+        }
+    }
+
+    private static Map<String, Long> read(File file) {
+        if (!file.isFile()) {
+            return Map.of();
+        }
+        try {
+            Map<String, Long> durations = new TreeMap<>(objectMapper.readValue(file, new TypeReference<Map<String, Long>>() {}));
+            // Entries written before durations were kept per matrix cell have no cell and are dropped
+            durations.keySet().removeIf(key -> key.indexOf('@') < 0);
+            return durations;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable scenario duration history at {}", file, e);
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.playbotlabs.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scenario-level view of a test data file, served either by the parsed JSON
+ * or by its precompiled binary form
+ */
+interface ScenarioSource {
+
+    /**
+     * @return scenario names in file order
+     */
+    Set<String> getScenarioNames();
+
+    /**
+     * @param scenarioName the scenario name
+     * @return the scenario's form fields, or null if the scenario does not exist
+     */
+    Map<String, String> getScenario(String scenarioName);
+
+    /**
+     * @param scenarioName the scenario name
+     * @param fieldName the form field name
+     * @return the field value, or null if the scenario or field does not exist
+     */
+    String getField(String scenarioName, String fieldName);
+
+    /**
+     * @param scenarioName the scenario name
+     * @return the scenario's categories, or null if the scenario does not exist
+     */
+    Set<ScenarioCategory> getCategories(String scenarioName);
+
+    /**
+     * @param category the category
+     * @return names of the scenarios in the category, in file order
+     */
+    List<String> getScenarios(ScenarioCategory category);
+}
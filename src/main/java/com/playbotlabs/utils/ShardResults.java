@@ -0,0 +1,185 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-shard scenario results for runs split across CI agents with shard.index and shard.count.
+ * Each shard writes shard-&lt;index&gt;-of-&lt;count&gt;.json when the JVM exits; running this class's main
+ * method over the collected files merges them into one results file and folds every shard's
+ * durations into the scenario duration history, so the next split is weighted by the full suite.
+ */
+public class ShardResults {
+    private static final Logger logger = LoggerFactory.getLogger(ShardResults.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    static final String MERGED_FILE = "merged-results.json";
+
+    private static final Set<String> planned = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Result> results = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ShardResults::save, "shard-results-save"));
+    }
+
+    /**
+     * The result of one scenario in one browser matrix cell
+     * @param id the scenario ID from {@link ScenarioDurationHistory#idOf}
+     * @param cell the matrix cell from {@link ScenarioDurationHistory#cellOf}, e.g. "chrome:headless"
+     * @param name the scenario name
+     * @param status the Cucumber status, e.g. PASSED
+     * @param durationMillis the scenario's wall-clock duration
+     */
+    public record Result(String id, String cell, String name, String status, long durationMillis) {
+
+        String key() {
+            return ScenarioDurationHistory.keyOf(id, cell);
+        }
+    }
+
+    /**
+     * The contents of one shard's results file, or of the merged file when shardIndex is -1
+     * @param shardIndex the shard index
+     * @param shardCount the number of shards
+     * @param planned IDs of the scenarios the shard was assigned
+     * @param results the scenario results
+     */
+    public record ShardFile(int shardIndex, int shardCount, List<String> planned, List<Result> results) {
+    }
+
+    /**
+     * Register the scenarios this shard was assigned
+     * @param scenarioIds the assigned scenario IDs
+     */
+    public static void plan(Collection<String> scenarioIds) {
+        planned.addAll(scenarioIds);
+    }
+
+    /**
+     * Record a scenario result; each matrix cell keeps its own result, and within a cell
+     * the last result wins if the scenario ran more than once
+     * @param scenarioId the scenario ID
+     * @param cell the matrix cell the scenario ran in
+     * @param name the scenario name
+     * @param status the Cucumber status
+     * @param duration the scenario's wall-clock duration
+     */
+    public static void record(String scenarioId, String cell, String name, String status, Duration duration) {
+        Result result = new Result(scenarioId, cell, name, status, duration.toMillis());
+        results.put(result.key(), result);
+    }
+
+    /**
+     * Get this shard's results file
+     * @return the file, named after shard.index and shard.count
+     */
+    public static File getShardFile() {
+        return new File(ConfigManager.getShardResultsDir(),
+                "shard-" + ConfigManager.getShardIndex() + "-of-" + ConfigManager.getShardCount() + ".json");
+    }
+
+    /**
+     * Write this shard's results file, if the run is sharded
+     */
+    public static synchronized void save() {
+        if (ConfigManager.getShardCount() <= 1 || (planned.isEmpty() && results.isEmpty())) {
+            return;
+        }
+        ShardFile shard = new ShardFile(ConfigManager.getShardIndex(), ConfigManager.getShardCount(),
+                new ArrayList<>(new TreeSet<>(planned)), sorted(results.values()));
+        try {
+            write(getShardFile(), shard);
+        } catch (IOException e) {
+            logger.warn("Failed to save shard results to {}", getShardFile(), e);
+        }
+    }
+
+    /**
+     * Merge every shard file in a directory
+     * @param directory the directory holding the shard-*-of-*.json files
+     * @return the merged results, with planned IDs of all shards
+     * @throws RuntimeException if the directory holds no shard files or shards of different splits
+     */
+    public static ShardFile merge(File directory) throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.matches("shard-\\d+-of-\\d+\\.json"));
+        if (files == null || files.length == 0) {
+            throw new RuntimeException("No shard result files found in " + directory);
+        }
+        Map<String, Integer> plannedBy = new HashMap<>();
+        Map<String, Result> merged = new TreeMap<>();
+        int shardCount = -1;
+        Set<Integer> seenShards = new TreeSet<>();
+        for (File file : files) {
+            ShardFile shard = objectMapper.readValue(file, ShardFile.class);
+            if (shardCount != -1 && shardCount != shard.shardCount()) {
+                throw new RuntimeException("Shard files from different splits in " + directory
+                        + ": " + shardCount + " and " + shard.shardCount() + " shards");
+            }
+            shardCount = shard.shardCount();
+            seenShards.add(shard.shardIndex());
+            for (String id : shard.planned()) {
+                Integer other = plannedBy.put(id, shard.shardIndex());
+                if (other != null && other != shard.shardIndex()) {
+                    logger.warn("Scenario {} was assigned to shards {} and {}, are the agents using different duration histories?",
+                            id, other, shard.shardIndex());
+                }
+            }
+            shard.results().forEach(result -> merged.put(result.key(), result));
+        }
+        if (seenShards.size() != shardCount) {
+            logger.warn("Merged {} of {} shards", seenShards.size(), shardCount);
+        }
+        return new ShardFile(-1, shardCount, new ArrayList<>(new TreeSet<>(plannedBy.keySet())), sorted(merged.values()));
+    }
+
+    /**
+     * Merge shard results and fold their durations into the scenario duration history
+     * @param args the shard results directory, defaults to shard.results.dir
+     */
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : ConfigManager.getShardResultsDir());
+        ShardFile merged = merge(directory);
+        File output = new File(directory, MERGED_FILE);
+        write(output, merged);
+        for (Result result : merged.results()) {
+            if (!"SKIPPED".equals(result.status())) {
+                ScenarioDurationHistory.record(result.id(), result.cell(), Duration.ofMillis(result.durationMillis()));
+            }
+        }
+        ScenarioDurationHistory.save();
+        long failed = merged.results().stream().filter(result -> !"PASSED".equals(result.status())).count();
+        logger.info("Merged {} results from {} shards into {}, {} not passed",
+                merged.results().size(), merged.shardCount(), output, failed);
+    }
+
+    private static List<Result> sorted(Collection<Result> values) {
+        List<Result> list = new ArrayList<>(values);
+        list.sort(Comparator.comparing(Result::id).thenComparing(Result::cell));
+        return list;
+    }
+
+    private static void write(File file, ShardFile contents) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parent.toPath());
+        File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp, contents);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
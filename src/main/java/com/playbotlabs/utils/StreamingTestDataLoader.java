@@ -0,0 +1,410 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads test data files one scenario at a time, so memory stays bounded by the
+ * largest single record rather than the file size.
+ * Supported layouts:
+ * - .json: an object of named scenarios, as in forms-forest-data.json, or an array of scenario objects
+ * - .ndjson / .jsonl: one scenario object per line
+ * - .csv: a header row followed by one scenario per line (quoted cells, no embedded line breaks)
+ * Array, NDJSON and CSV records take their name from a "name" field, or their position when it is missing.
+ * The first complete pass over a file records the byte offset of every scenario, so later
+ * lookups by name seek straight to the record instead of re-reading the file.
+ */
+public final class StreamingTestDataLoader {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String NAME_FIELD = "name";
+
+    private static final Map<String, OffsetIndex> indexes = new ConcurrentHashMap<>();
+
+    private StreamingTestDataLoader() {
+    }
+
+    private enum Format { JSON, NDJSON, CSV }
+
+    private record OffsetIndex(long lastModified, Map<String, Long> offsets, List<String> header) {
+    }
+
+    /**
+     * Lazily stream every scenario of a file. Close the stream when it is not fully consumed.
+     * @param file the JSON, NDJSON or CSV file
+     * @return the scenarios in file order
+     */
+    public static Stream<TestDataRecord> stream(File file) {
+        RecordReader reader = open(file);
+        Spliterator<TestDataRecord> spliterator =
+                Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(reader::close);
+    }
+
+    /**
+     * Read a single scenario by name, indexing the file on first use
+     * @param file the JSON, NDJSON or CSV file
+     * @param name the scenario name
+     * @return the scenario or null if the file has no scenario with that name
+     */
+    public static TestDataRecord find(File file, String name) {
+        OffsetIndex index = indexes.get(file.getAbsolutePath());
+        if (index == null || index.lastModified() != file.lastModified()) {
+            try (Stream<TestDataRecord> records = stream(file)) {
+                records.forEach(record -> { });
+            }
+            index = indexes.get(file.getAbsolutePath());
+        }
+        Long offset = index.offsets().get(name);
+        if (offset == null) {
+            return null;
+        }
+        try (FileInputStream in = new FileInputStream(file)) {
+            in.getChannel().position(offset);
+            return switch (formatOf(file)) {
+                case JSON -> {
+                    JsonParser parser = objectMapper.createParser(in);
+                    parser.nextToken();
+                    yield toRecord(name, parser.readValueAsTree());
+                }
+                case NDJSON -> toRecord(name, objectMapper.readTree(readLineAt(in, offset)));
+                case CSV -> toRecord(name, index.header(), parseCsvLine(readLineAt(in, offset)));
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test scenario '" + name + "' from: " + file, e);
+        }
+    }
+
+    private static String readLineAt(InputStream in, long offset) throws IOException {
+        return new LineReader(new BufferedInputStream(in), offset).readLine();
+    }
+
+    private static RecordReader open(File file) {
+        try {
+            InputStream in = new BufferedInputStream(new FileInputStream(file));
+            return switch (formatOf(file)) {
+                case JSON -> new JsonRecordReader(file, in);
+                case NDJSON -> new NdjsonRecordReader(file, in);
+                case CSV -> new CsvRecordReader(file, in);
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open test data file: " + file, e);
+        }
+    }
+
+    private static Format formatOf(File file) {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Format.NDJSON;
+        }
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        return Format.JSON;
+    }
+
+    private static TestDataRecord toRecord(String name, JsonNode scenario) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        scenario.fields().forEachRemaining(field -> {
+            if (!NAME_FIELD.equals(field.getKey()) && !TestDataDocument.CATEGORY_FIELD.equals(field.getKey())) {
+                fields.put(field.getKey(), TestDataDocument.textOf(field.getValue()));
+            }
+        });
+        return new TestDataRecord(name, Collections.unmodifiableMap(fields),
+                Collections.unmodifiableSet(TestDataDocument.categoriesOf(name, scenario)));
+    }
+
+    private static TestDataRecord toRecord(String name, List<String> header, List<String> values) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        EnumSet<ScenarioCategory> categories = null;
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String column = header.get(i);
+            if (TestDataDocument.CATEGORY_FIELD.equals(column)) {
+                categories = values.get(i).isBlank() ? null : ScenarioCategory.parseAll(values.get(i));
+            } else if (!NAME_FIELD.equals(column)) {
+                fields.put(column, values.get(i));
+            }
+        }
+        return new TestDataRecord(name, Collections.unmodifiableMap(fields),
+                Collections.unmodifiableSet(categories != null ? categories : ScenarioCategory.fromName(name)));
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        values.add(cell.toString());
+        return values;
+    }
+
+    /**
+     * Iterates the records of one file and publishes the offset index once the end is reached
+     */
+    private abstract static class RecordReader implements Iterator<TestDataRecord>, Closeable {
+        private final File file;
+        private final long lastModified;
+        private final Closeable source;
+        private final Map<String, Long> offsets = new LinkedHashMap<>();
+        private TestDataRecord next;
+        private boolean finished;
+        protected int ordinal;
+
+        RecordReader(File file, Closeable source) {
+            this.file = file;
+            this.lastModified = file.lastModified();
+            this.source = source;
+        }
+
+        /**
+         * @return the next record, or null at the end of the file
+         */
+        abstract TestDataRecord readNext() throws IOException;
+
+        List<String> header() {
+            return List.of();
+        }
+
+        void recordOffset(String name, long offset) {
+            offsets.putIfAbsent(name, offset);
+            ordinal++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    next = readNext();
+                } catch (IOException e) {
+                    close();
+                    throw new RuntimeException("Failed to read test data from: " + file, e);
+                }
+                if (next == null) {
+                    finished = true;
+                    indexes.put(file.getAbsolutePath(),
+                            new OffsetIndex(lastModified, Collections.unmodifiableMap(offsets), header()));
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public TestDataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TestDataRecord record = next;
+            next = null;
+            return record;
+        }
+
+        @Override
+        public void close() {
+            try {
+                source.close();
+            } catch (IOException e) {
+                // Nothing left to read from a source that fails to close
+            }
+        }
+    }
+
+    private static final class JsonRecordReader extends RecordReader {
+        private final JsonParser parser;
+        private final boolean array;
+
+        JsonRecordReader(File file, InputStream in) throws IOException {
+            this(file, objectMapper.createParser(in));
+        }
+
+        private JsonRecordReader(File file, JsonParser parser) throws IOException {
+            super(file, parser);
+            this.parser = parser;
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_OBJECT && first != JsonToken.START_ARRAY) {
+                throw new IOException("Test data must be a JSON object or array: " + file);
+            }
+            this.array = first == JsonToken.START_ARRAY;
+        }
+
+        @Override
+        TestDataRecord readNext() throws IOException {
+            while (true) {
+                String name = null;
+                if (!array) {
+                    if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                        return null;
+                    }
+                    name = parser.currentName();
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    // Top-level values that are not scenarios are skipped
+                    parser.skipChildren();
+                    continue;
+                }
+                long offset = parser.currentTokenLocation().getByteOffset();
+                JsonNode scenario = parser.readValueAsTree();
+                if (name == null) {
+                    name = scenario.path(NAME_FIELD).asText(String.valueOf(ordinal));
+                }
+                recordOffset(name, offset);
+                return toRecord(name, scenario);
+            }
+        }
+    }
+
+    private static final class NdjsonRecordReader extends RecordReader {
+        private final LineReader lines;
+
+        NdjsonRecordReader(File file, InputStream in) {
+            super(file, in);
+            this.lines = new LineReader(in, 0);
+        }
+
+        @Override
+        TestDataRecord readNext() throws IOException {
+            while (true) {
+                long offset = lines.position();
+                String line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode scenario = objectMapper.readTree(line);
+                String name = scenario.path(NAME_FIELD).asText(String.valueOf(ordinal));
+                recordOffset(name, offset);
+                return toRecord(name, scenario);
+            }
+        }
+    }
+
+    private static final class CsvRecordReader extends RecordReader {
+        private final LineReader lines;
+        private List<String> header;
+        private int nameColumn;
+
+        CsvRecordReader(File file, InputStream in) {
+            super(file, in);
+            this.lines = new LineReader(in, 0);
+        }
+
+        @Override
+        List<String> header() {
+            return header;
+        }
+
+        @Override
+        TestDataRecord readNext() throws IOException {
+            if (header == null) {
+                String headerLine = lines.readLine();
+                if (headerLine == null) {
+                    header = List.of();
+                    return null;
+                }
+                header = List.copyOf(parseCsvLine(headerLine.replace("\uFEFF", "")));
+                nameColumn = header.indexOf(NAME_FIELD);
+            }
+            while (true) {
+                long offset = lines.position();
+                String line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = parseCsvLine(line);
+                String name = nameColumn >= 0 && nameColumn < values.size() && !values.get(nameColumn).isEmpty()
+                        ? values.get(nameColumn) : String.valueOf(ordinal);
+                recordOffset(name, offset);
+                return toRecord(name, header, values);
+            }
+        }
+    }
+
+    /**
+     * Reads UTF-8 lines while tracking the byte offset of each line start
+     */
+    private static final class LineReader {
+        private final InputStream in;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private long position;
+
+        LineReader(InputStream in, long position) {
+            this.in = in;
+            this.position = position;
+        }
+
+        long position() {
+            return position;
+        }
+
+        String readLine() throws IOException {
+            line.reset();
+            boolean read = false;
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                read = true;
+                if (b == '\n') {
+                    break;
+                }
+                line.write(b);
+            }
+            if (!read) {
+                return null;
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+        }
+    }
+}
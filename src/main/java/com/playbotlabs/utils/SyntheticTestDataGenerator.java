@@ -0,0 +1,297 @@
+package com.playbotlabs.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates Forms Forest scenarios on demand for high-volume runs.
+ * Record i depends only on the seed and i, so the same seed always yields the same data,
+ * records can be produced in any order or in parallel, and nothing is kept in memory.
+ * Records use the same field names as forms-forest-data.json.
+ */
+public final class SyntheticTestDataGenerator {
+
+    /**
+     * Kinds of generated scenario
+     */
+    public enum Kind {
+        VALID("valid", EnumSet.of(ScenarioCategory.VALID)),
+        INVALID_EMAIL("invalidEmail", EnumSet.of(ScenarioCategory.INVALID)),
+        UNICODE("unicode", EnumSet.of(ScenarioCategory.VALID, ScenarioCategory.EDGE_CASE)),
+        LONG_TEXT("longFieldValues", EnumSet.of(ScenarioCategory.INVALID, ScenarioCategory.EDGE_CASE)),
+        SQL_INJECTION("sqlInjection", EnumSet.of(ScenarioCategory.INVALID, ScenarioCategory.EDGE_CASE)),
+        XSS("xss", EnumSet.of(ScenarioCategory.INVALID, ScenarioCategory.EDGE_CASE));
+
+        private final String prefix;
+        private final Set<ScenarioCategory> categories;
+
+        Kind(String prefix, EnumSet<ScenarioCategory> categories) {
+            this.prefix = prefix;
+            this.categories = Collections.unmodifiableSet(categories);
+        }
+    }
+
+    private static final String[] FIELD_NAMES = {
+            "username", "password", "email", "firstName", "lastName", "phoneNumber", "country", "state",
+            "gender", "experience", "preference", "comments", "description", "message", "interests", "skills",
+            "terms", "newsletter", "notifications", "marketing", "privacy"
+    };
+    private static final Map<String, Integer> FIELD_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            FIELD_INDEX.put(FIELD_NAMES[i], i);
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alex", "Maria", "Sam", "Priya", "Chen", "Olivia", "Noah", "Fatima"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Garcia", "Patel", "Kim", "Brown", "Novak", "Silva", "Khan", "Moore"};
+    private static final String[] UNICODE_FIRST_NAMES = {"José", "Zoë", "Łukasz", "Søren", "Nguyễn", "Дмитрий", "محمد", "李"};
+    private static final String[] UNICODE_LAST_NAMES = {"García", "Müller", "Øvergård", "Dvořák", "Ñúñez", "Иванов", "王", "山田"};
+    private static final String[] USER_WORDS = {"user", "tester", "forest", "qa", "auto", "member", "client", "demo"};
+    private static final String[] DOMAINS = {"example.com", "test.org", "mail.example.net", "forms.test"};
+    private static final String[] UNICODE_DOMAINS = {"测试.com", "пример.рф", "exämple.de"};
+    private static final String[] INVALID_EMAILS = {
+            "%s%d.example.com", "%s%d@", "@%s%d.com", "%s%d@example", "%s %d@example.com", "%s%d@@example.com"
+    };
+    private static final String[] SQL_PAYLOADS = {
+            "'; DROP TABLE users; --", "' OR '1'='1", "admin'--", "1; SELECT * FROM accounts", "' UNION SELECT null--"
+    };
+    private static final String[] XSS_PAYLOADS = {
+            "<script>alert('xss')</script>", "<img src=x onerror=alert(1)>", "<svg onload=alert(1)>",
+            "javascript:alert(1)", "\"><iframe src=javascript:alert(1)>"
+    };
+    private static final String[][] COUNTRY_STATES = {
+            {"United States", "California"}, {"United States", "Texas"}, {"United States", "New York"},
+            {"United States", "Florida"}, {"Canada", "Ontario"}, {"Mexico", "Jalisco"}, {"Spain", "Madrid"}
+    };
+    private static final String[] GENDERS = {"male", "female", "other"};
+    private static final String[] EXPERIENCE = {"beginner", "intermediate", "advanced"};
+    private static final String[] PREFERENCES = {"email", "phone", "sms"};
+    private static final String[] INTERESTS = {"technology", "sports", "music", "reading", "gaming"};
+    private static final String[] SKILLS = {"java", "python", "javascript", "html", "css", "testing"};
+    private static final String[] WORDS = {
+            "form", "test", "valid", "message", "forest", "data", "input", "check", "quick", "submit",
+            "value", "field", "user", "sample", "entry", "review"
+    };
+
+    private final long seed;
+
+    public SyntheticTestDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Lazily generate records of mixed kinds
+     * @param count the number of records
+     * @return a sequential stream, call parallel() to generate on several threads
+     */
+    public Stream<TestDataRecord> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::generate);
+    }
+
+    /**
+     * Lazily generate records of one kind
+     * @param kind the scenario kind
+     * @param count the number of records
+     * @return a sequential stream, call parallel() to generate on several threads
+     */
+    public Stream<TestDataRecord> stream(Kind kind, long count) {
+        return LongStream.range(0, count).mapToObj(index -> generate(kind, index));
+    }
+
+    /**
+     * Generate the record at a position of the mixed sequence
+     * @param index the record position
+     * @return the record, identical for the same seed and index
+     */
+    public TestDataRecord generate(long index) {
+        SplittableRandom random = randomFor(index);
+        return generate(KINDS[random.nextInt(KINDS.length)], index, random);
+    }
+
+    /**
+     * Generate the record of one kind at a position
+     * @param kind the scenario kind
+     * @param index the record position
+     * @return the record, identical for the same seed, kind and index
+     */
+    public TestDataRecord generate(Kind kind, long index) {
+        return generate(kind, index, randomFor(index));
+    }
+
+    private TestDataRecord generate(Kind kind, long index, SplittableRandom random) {
+        String[] values = new String[FIELD_NAMES.length];
+        boolean unicode = kind == Kind.UNICODE;
+        String firstName = pick(random, unicode ? UNICODE_FIRST_NAMES : FIRST_NAMES);
+        String lastName = pick(random, unicode ? UNICODE_LAST_NAMES : LAST_NAMES);
+        String userWord = pick(random, USER_WORDS);
+        int number = random.nextInt(100, 100_000);
+        String[] countryState = pick(random, COUNTRY_STATES);
+
+        values[0] = switch (kind) {
+            case SQL_INJECTION -> pick(random, SQL_PAYLOADS);
+            case XSS -> pick(random, XSS_PAYLOADS);
+            case UNICODE -> firstName + number;
+            case LONG_TEXT -> repeat(userWord, random.nextInt(64, 256));
+            default -> userWord + number;
+        };
+        values[1] = kind == Kind.LONG_TEXT
+                ? repeat("Pass" + number + "!", random.nextInt(64, 256))
+                : capitalize(pick(random, WORDS)) + "Pass" + number + "!";
+        values[2] = switch (kind) {
+            case INVALID_EMAIL -> String.format(pick(random, INVALID_EMAILS), userWord, number);
+            case UNICODE -> userWord + number + "@" + pick(random, UNICODE_DOMAINS);
+            case LONG_TEXT -> repeat(userWord, random.nextInt(64, 200)) + "@" + repeat("domain", 40) + ".com";
+            default -> userWord + "." + number + "@" + pick(random, DOMAINS);
+        };
+        values[3] = kind == Kind.XSS ? pick(random, XSS_PAYLOADS)
+                : kind == Kind.LONG_TEXT ? repeat(firstName, random.nextInt(64, 256)) : firstName;
+        values[4] = kind == Kind.LONG_TEXT ? repeat(lastName, random.nextInt(64, 256)) : lastName;
+        values[5] = phoneNumber(random);
+        values[6] = countryState[0];
+        values[7] = countryState[1];
+        values[8] = pick(random, GENDERS);
+        values[9] = pick(random, EXPERIENCE);
+        values[10] = pick(random, PREFERENCES);
+        int textLength = kind == Kind.LONG_TEXT ? random.nextInt(1000, 5000) : random.nextInt(20, 120);
+        values[11] = sentence(random, textLength);
+        values[12] = sentence(random, textLength);
+        values[13] = kind == Kind.XSS ? pick(random, XSS_PAYLOADS) : sentence(random, textLength);
+        values[14] = subset(random, INTERESTS);
+        values[15] = subset(random, SKILLS);
+        values[16] = "true";
+        values[17] = String.valueOf(random.nextBoolean());
+        values[18] = String.valueOf(random.nextBoolean());
+        values[19] = String.valueOf(random.nextBoolean());
+        values[20] = String.valueOf(random.nextBoolean());
+        return new TestDataRecord(kind.prefix + "Synthetic" + index, new FieldMap(values), kind.categories);
+    }
+
+    // Spreads neighbouring indexes across the seed space so records are independent
+    private SplittableRandom randomFor(long index) {
+        long z = seed * 0x9E3779B97F4A7C15L + index;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(z ^ (z >>> 33));
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String phoneNumber(SplittableRandom random) {
+        int exchange = random.nextInt(100, 1000);
+        int line = random.nextInt(1000, 10_000);
+        return switch (random.nextInt(3)) {
+            case 0 -> "555-" + exchange + "-" + line;
+            case 1 -> "(555) " + exchange + "-" + line;
+            default -> "+1-555-" + exchange + "-" + line;
+        };
+    }
+
+    private static String sentence(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(pick(random, WORDS));
+        }
+        return text.toString();
+    }
+
+    private static String subset(SplittableRandom random, String[] values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (random.nextBoolean()) {
+                if (joined.length() > 0) {
+                    joined.append(',');
+                }
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static String repeat(String text, int length) {
+        StringBuilder repeated = new StringBuilder(length + text.length());
+        while (repeated.length() < length) {
+            repeated.append(text);
+        }
+        return repeated.substring(0, length);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * Read-only map over the shared field names and one record's values, so a record costs one array
+     */
+    private static final class FieldMap extends AbstractMap<String, String> {
+        private final String[] values;
+
+        FieldMap(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer index = FIELD_INDEX.get(key);
+            return index == null ? null : values[index];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return FIELD_INDEX.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(FIELD_NAMES[index], values[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.playbotlabs.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Build step that precompiles every JSON test data file into the binary form read by BinaryTestData.
+ * Run by the exec-maven-plugin in the process-test-resources phase.
+ * Usage: TestDataCompiler &lt;json directory&gt; &lt;output directory&gt;
+ */
+public class TestDataCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataCompiler.class);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TestDataCompiler <json directory> <output directory>");
+        }
+        File[] sources = new File(args[0]).listFiles((dir, name) -> name.endsWith(".json"));
+        if (sources == null) {
+            logger.info("No test data directory at {}", args[0]);
+            return;
+        }
+        for (File source : sources) {
+            File binary = new File(args[1], binaryName(source.getName()));
+            if (BinaryTestData.open(binary, source) != null) {
+                continue;
+            }
+            BinaryTestData.compile(source, binary);
+            logger.info("Compiled test data {} to {}", source, binary);
+        }
+    }
+
+    static String binaryName(String jsonFileName) {
+        return jsonFileName.replaceFirst("\\.json$", "") + BinaryTestData.EXTENSION;
+    }
+}
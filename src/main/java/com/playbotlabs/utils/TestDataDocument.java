@@ -0,0 +1,173 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parsed, immutable form of one test data file.
+ * Built once by TestDataUtils and shared by every thread, so lookups are plain map reads.
+ * Every value is indexed by its dotted path, e.g. "validData.username" or "validData.interests.0",
+ * and arrays and comma separated strings are also kept as pre-split lists.
+ * Each top-level object is a scenario whose categories are resolved once at load.
+ */
+final class TestDataDocument implements ScenarioSource {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    static final String CATEGORY_FIELD = "category";
+
+    private final File file;
+    private final long lastModified;
+    private final Map<String, String> values;
+    private final Map<String, List<String>> lists;
+    private final Map<String, Map<String, String>> sections;
+    private final Map<String, Set<ScenarioCategory>> categories;
+    private final Map<ScenarioCategory, List<String>> scenariosByCategory;
+
+    private TestDataDocument(File file, long lastModified, Map<String, String> values,
+                             Map<String, List<String>> lists, Map<String, Map<String, String>> sections,
+                             Map<String, Set<ScenarioCategory>> categories) {
+        this.file = file;
+        this.lastModified = lastModified;
+        this.values = values;
+        this.lists = lists;
+        this.sections = sections;
+        this.categories = categories;
+
+        Map<ScenarioCategory, List<String>> byCategory = new EnumMap<>(ScenarioCategory.class);
+        for (ScenarioCategory category : ScenarioCategory.values()) {
+            byCategory.put(category, categories.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(category))
+                    .map(Map.Entry::getKey)
+                    .toList());
+        }
+        this.scenariosByCategory = Collections.unmodifiableMap(byCategory);
+    }
+
+    static TestDataDocument load(File file) throws IOException {
+        long lastModified = file.lastModified();
+        JsonNode root = objectMapper.readTree(file);
+
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, List<String>> lists = new LinkedHashMap<>();
+        Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+        Map<String, Set<ScenarioCategory>> categories = new LinkedHashMap<>();
+        root.fields().forEachRemaining(entry -> {
+            index(entry.getKey(), entry.getValue(), values, lists);
+            if (entry.getValue().isObject()) {
+                Map<String, String> fields = new LinkedHashMap<>();
+                entry.getValue().fields().forEachRemaining(field -> {
+                    if (!CATEGORY_FIELD.equals(field.getKey())) {
+                        fields.put(field.getKey(), textOf(field.getValue()));
+                    }
+                });
+                sections.put(entry.getKey(), Collections.unmodifiableMap(fields));
+                categories.put(entry.getKey(), Collections.unmodifiableSet(categoriesOf(entry.getKey(), entry.getValue())));
+            }
+        });
+        return new TestDataDocument(file, lastModified, Collections.unmodifiableMap(values),
+                Collections.unmodifiableMap(lists), Collections.unmodifiableMap(sections),
+                Collections.unmodifiableMap(categories));
+    }
+
+    // An explicit "category" field wins over the guess from the scenario name
+    static EnumSet<ScenarioCategory> categoriesOf(String scenarioName, JsonNode scenario) {
+        JsonNode declared = scenario.get(CATEGORY_FIELD);
+        if (declared == null || declared.isNull()) {
+            return ScenarioCategory.fromName(scenarioName);
+        }
+        EnumSet<ScenarioCategory> categories = EnumSet.noneOf(ScenarioCategory.class);
+        if (declared.isArray()) {
+            declared.forEach(category -> categories.add(ScenarioCategory.parse(category.asText())));
+        } else {
+            categories.addAll(ScenarioCategory.parseAll(declared.asText()));
+        }
+        return categories;
+    }
+
+    private static void index(String path, JsonNode node, Map<String, String> values, Map<String, List<String>> lists) {
+        values.put(path, textOf(node));
+        if (node.isObject()) {
+            node.fields().forEachRemaining(field -> index(path + "." + field.getKey(), field.getValue(), values, lists));
+        } else if (node.isArray()) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < node.size(); i++) {
+                elements.add(node.get(i).asText());
+                index(path + "." + i, node.get(i), values, lists);
+            }
+            lists.put(path, List.copyOf(elements));
+        } else if (!node.isNull()) {
+            lists.put(path, Arrays.stream(node.asText().split(","))
+                    .map(String::trim)
+                    .filter(item -> !item.isEmpty())
+                    .toList());
+        }
+    }
+
+    // Arrays read as comma separated text so callers that expect "a,b,c" strings keep working
+    static String textOf(JsonNode node) {
+        if (node.isArray()) {
+            List<String> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(element.asText()));
+            return String.join(",", elements);
+        }
+        return node.asText();
+    }
+
+    /**
+     * @return true if the file changed on disk since it was parsed
+     */
+    boolean isStale() {
+        return file.lastModified() != lastModified;
+    }
+
+    /**
+     * @return every value as text keyed by its dotted path, top-level objects included
+     */
+    Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * @return arrays and comma separated values as lists keyed by their dotted path
+     */
+    Map<String, List<String>> getLists() {
+        return lists;
+    }
+
+    @Override
+    public Set<String> getScenarioNames() {
+        return sections.keySet();
+    }
+
+    @Override
+    public Map<String, String> getScenario(String scenarioName) {
+        return sections.get(scenarioName);
+    }
+
+    @Override
+    public String getField(String scenarioName, String fieldName) {
+        Map<String, String> scenario = sections.get(scenarioName);
+        return scenario == null ? null : scenario.get(fieldName);
+    }
+
+    @Override
+    public Set<ScenarioCategory> getCategories(String scenarioName) {
+        return categories.get(scenarioName);
+    }
+
+    @Override
+    public List<String> getScenarios(ScenarioCategory category) {
+        return scenariosByCategory.get(category);
+    }
+}
@@ -0,0 +1,22 @@
+package com.playbotlabs.utils;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One test data scenario read from a file or produced by a generator
+ * @param name the scenario name
+ * @param fields immutable form field values, without the name and category fields
+ * @param categories the declared or guessed scenario categories
+ */
+public record TestDataRecord(String name, Map<String, String> fields, Set<ScenarioCategory> categories) {
+
+    /**
+     * Get a single field value
+     * @param fieldName the form field name
+     * @return the value or null if the record has no such field
+     */
+    public String get(String fieldName) {
+        return fields.get(fieldName);
+    }
+}
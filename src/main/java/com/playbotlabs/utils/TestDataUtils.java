@@ -1,62 +1,133 @@
 package com.playbotlabs.utils;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 public class TestDataUtils {
-    private static final ObjectMapper objectMapper = new ObjectMapper();
     private static final String FORMS_FOREST_DATA_FILE = "forms-forest-data.json";
 
+    // Parsed files shared across threads, each file is read once per JVM unless reload checks are on
+    private static final Map<String, TestDataDocument> documents = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<BinaryTestData>> binaries = new ConcurrentHashMap<>();
+
+    /**
+     * Read all values of a test data file
+     * @param fileName the file name inside the test data directory
+     * @return immutable map of dotted paths (e.g. "validData.username") to their text values
+     */
     public static Map<String, String> readJsonTestData(String fileName) {
-        Map<String, String> testData = new HashMap<>();
-        try {
-            File file = new File("src/test/resources/testdata/" + fileName);
-            JsonNode jsonNode = objectMapper.readTree(file);
-            
-            jsonNode.fields().forEachRemaining(entry -> {
-                testData.put(entry.getKey(), entry.getValue().asText());
-            });
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read test data from: " + fileName, e);
-        }
-        return testData;
+        return CoverageRecorder.recording(fileName, getDocument(fileName).getValues());
     }
 
     public static String getTestData(String fileName, String key) {
-        Map<String, String> testData = readJsonTestData(fileName);
-        return testData.get(key);
+        return readJsonTestData(fileName).get(key);
+    }
+
+    /**
+     * Get an array or comma separated value as a list, split once when the file is loaded
+     * @param fileName the file name inside the test data directory
+     * @param path the dotted path, e.g. "validData.interests"
+     * @return immutable list of trimmed items, empty if the path does not exist
+     */
+    public static List<String> getTestDataList(String fileName, String path) {
+        CoverageRecorder.recordData(fileName, path);
+        return getDocument(fileName).getLists().getOrDefault(path, List.of());
     }
 
     /**
      * Read Forms Forest test data for a specific test scenario
      * @param scenarioName the name of the test scenario (e.g., "validData", "invalidEmailFormat")
-     * @return Map containing all form field data for the scenario
+     * @return immutable map containing all form field data for the scenario
      */
     public static Map<String, String> getFormsForestTestData(String scenarioName) {
-        Map<String, String> testData = new HashMap<>();
-        try {
-            File file = new File("src/test/resources/testdata/" + FORMS_FOREST_DATA_FILE);
-            JsonNode rootNode = objectMapper.readTree(file);
-            JsonNode scenarioNode = rootNode.get(scenarioName);
-            
-            if (scenarioNode == null) {
-                throw new RuntimeException("Test scenario '" + scenarioName + "' not found in " + FORMS_FOREST_DATA_FILE);
+        CoverageRecorder.recordData(FORMS_FOREST_DATA_FILE, scenarioName);
+        Map<String, String> testData = getScenarioSource(FORMS_FOREST_DATA_FILE).getScenario(scenarioName);
+        if (testData == null) {
+            throw new RuntimeException("Test scenario '" + scenarioName + "' not found in " + FORMS_FOREST_DATA_FILE);
+        }
+        return testData;
+    }
+
+    /**
+     * Lazily stream the scenarios of a JSON, NDJSON or CSV file without loading it whole.
+     * Close the stream when it is not fully consumed.
+     * @param fileName the file name inside the test data directory
+     * @return the scenarios in file order
+     */
+    public static Stream<TestDataRecord> streamTestData(String fileName) {
+        CoverageRecorder.recordData(fileName, null);
+        return StreamingTestDataLoader.stream(new File(ConfigManager.getTestDataPath(), fileName));
+    }
+
+    /**
+     * Read one scenario of a large file by name, seeking to it through a byte-offset index
+     * @param fileName the file name inside the test data directory
+     * @param scenarioName the scenario name
+     * @return the scenario
+     */
+    public static TestDataRecord findTestData(String fileName, String scenarioName) {
+        CoverageRecorder.recordData(fileName, scenarioName);
+        TestDataRecord record = StreamingTestDataLoader.find(new File(ConfigManager.getTestDataPath(), fileName), scenarioName);
+        if (record == null) {
+            throw new RuntimeException("Test scenario '" + scenarioName + "' not found in " + fileName);
+        }
+        return record;
+    }
+
+    /**
+     * Lazily generate Forms Forest scenarios of mixed kinds from the configured seed
+     * @param count the number of records
+     * @return a sequential stream, call parallel() to generate on several threads
+     */
+    public static Stream<TestDataRecord> streamSyntheticTestData(long count) {
+        return new SyntheticTestDataGenerator(ConfigManager.getSyntheticDataSeed()).stream(count);
+    }
+
+    /**
+     * Drop every cached test data file so the next lookup parses it again
+     */
+    public static void clearCache() {
+        documents.clear();
+        binaries.clear();
+    }
+
+    // Scenario lookups prefer the precompiled binary while it matches the JSON, then fall back to parsing
+    static ScenarioSource getScenarioSource(String fileName) {
+        if (ConfigManager.isBinaryTestDataEnabled()) {
+            Optional<BinaryTestData> binary = binaries.computeIfAbsent(fileName, name -> Optional.ofNullable(
+                    BinaryTestData.open(new File(ConfigManager.getBinaryTestDataPath(), TestDataCompiler.binaryName(name)),
+                            new File(ConfigManager.getTestDataPath(), name))));
+            if (binary.isPresent() && !(ConfigManager.isTestDataReloadEnabled() && binary.get().isStale())) {
+                return binary.get();
             }
-            
-            scenarioNode.fields().forEachRemaining(entry -> {
-                testData.put(entry.getKey(), entry.getValue().asText());
-            });
+        }
+        return getDocument(fileName);
+    }
+
+    static TestDataDocument getDocument(String fileName) {
+        TestDataDocument document = documents.computeIfAbsent(fileName, TestDataUtils::loadDocument);
+        if (ConfigManager.isTestDataReloadEnabled() && document.isStale()) {
+            document = documents.compute(fileName,
+                    (name, cached) -> cached != null && !cached.isStale() ? cached : loadDocument(name));
+        }
+        return document;
+    }
+
+    private static TestDataDocument loadDocument(String fileName) {
+        try {
+            return TestDataDocument.load(new File(ConfigManager.getTestDataPath(), fileName));
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read Forms Forest test data for scenario: " + scenarioName, e);
+            throw new RuntimeException("Failed to read test data from: " + fileName, e);
         }
-        return testData;
     }
 
     /**
@@ -66,25 +137,21 @@ public class TestDataUtils {
      * @return the field value as string
      */
     public static String getFormsForestFieldData(String scenarioName, String fieldName) {
-        Map<String, String> testData = getFormsForestTestData(scenarioName);
-        return testData.get(fieldName);
+        CoverageRecorder.recordData(FORMS_FOREST_DATA_FILE, scenarioName);
+        ScenarioSource source = getScenarioSource(FORMS_FOREST_DATA_FILE);
+        if (source.getScenario(scenarioName) == null) {
+            throw new RuntimeException("Test scenario '" + scenarioName + "' not found in " + FORMS_FOREST_DATA_FILE);
+        }
+        return source.getField(scenarioName, fieldName);
     }
 
     /**
      * Get all available Forms Forest test scenario names
-     * @return Set of scenario names available in the test data file
+     * @return immutable set of scenario names available in the test data file
      */
     public static Set<String> getFormsForestScenarios() {
-        Set<String> scenarios = new HashSet<>();
-        try {
-            File file = new File("src/test/resources/testdata/" + FORMS_FOREST_DATA_FILE);
-            JsonNode rootNode = objectMapper.readTree(file);
-            
-            rootNode.fieldNames().forEachRemaining(scenarios::add);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read Forms Forest scenarios from: " + FORMS_FOREST_DATA_FILE, e);
-        }
-        return scenarios;
+        CoverageRecorder.recordData(FORMS_FOREST_DATA_FILE, null);
+        return getScenarioSource(FORMS_FOREST_DATA_FILE).getScenarioNames();
     }
 
     /**
@@ -92,15 +159,7 @@ public class TestDataUtils {
      * @return Map containing scenario names and their data for valid test cases
      */
     public static Map<String, Map<String, String>> getValidFormsForestTestData() {
-        Map<String, Map<String, String>> validData = new HashMap<>();
-        Set<String> scenarios = getFormsForestScenarios();
-        
-        for (String scenario : scenarios) {
-            if (scenario.toLowerCase().contains("valid") && !scenario.toLowerCase().contains("invalid")) {
-                validData.put(scenario, getFormsForestTestData(scenario));
-            }
-        }
-        return validData;
+        return getFormsForestTestData(ScenarioCategory.VALID);
     }
 
     /**
@@ -108,21 +167,7 @@ public class TestDataUtils {
      * @return Map containing scenario names and their data for invalid test cases
      */
     public static Map<String, Map<String, String>> getInvalidFormsForestTestData() {
-        Map<String, Map<String, String>> invalidData = new HashMap<>();
-        Set<String> scenarios = getFormsForestScenarios();
-        
-        for (String scenario : scenarios) {
-            if (scenario.toLowerCase().contains("invalid") || 
-                scenario.toLowerCase().contains("empty") ||
-                scenario.toLowerCase().contains("special") ||
-                scenario.toLowerCase().contains("sql") ||
-                scenario.toLowerCase().contains("xss") ||
-                scenario.toLowerCase().contains("long") ||
-                scenario.toLowerCase().contains("terms") && scenario.toLowerCase().contains("not")) {
-                invalidData.put(scenario, getFormsForestTestData(scenario));
-            }
-        }
-        return invalidData;
+        return getFormsForestTestData(ScenarioCategory.INVALID);
     }
 
     /**
@@ -130,21 +175,33 @@ public class TestDataUtils {
      * @return Map containing scenario names and their data for edge case test scenarios
      */
     public static Map<String, Map<String, String>> getEdgeCaseFormsForestTestData() {
-        Map<String, Map<String, String>> edgeCaseData = new HashMap<>();
-        Set<String> scenarios = getFormsForestScenarios();
-        
-        for (String scenario : scenarios) {
-            if (scenario.toLowerCase().contains("special") ||
-                scenario.toLowerCase().contains("unicode") ||
-                scenario.toLowerCase().contains("long") ||
-                scenario.toLowerCase().contains("numeric") ||
-                scenario.toLowerCase().contains("whitespace") ||
-                scenario.toLowerCase().contains("international") ||
-                scenario.toLowerCase().contains("alternate")) {
-                edgeCaseData.put(scenario, getFormsForestTestData(scenario));
-            }
+        return getFormsForestTestData(ScenarioCategory.EDGE_CASE);
+    }
+
+    /**
+     * Get Forms Forest test data for every scenario in a category
+     * @param category the scenario category
+     * @return Map containing scenario names and their data, in file order
+     */
+    public static Map<String, Map<String, String>> getFormsForestTestData(ScenarioCategory category) {
+        CoverageRecorder.recordData(FORMS_FOREST_DATA_FILE, null);
+        ScenarioSource source = getScenarioSource(FORMS_FOREST_DATA_FILE);
+        Map<String, Map<String, String>> categoryData = new LinkedHashMap<>();
+        for (String scenario : source.getScenarios(category)) {
+            categoryData.put(scenario, source.getScenario(scenario));
         }
-        return edgeCaseData;
+        return categoryData;
+    }
+
+    /**
+     * Get the categories of a Forms Forest test scenario
+     * @param scenarioName the name of the test scenario
+     * @return the declared categories, or the ones guessed from the name for unknown scenarios
+     */
+    public static Set<ScenarioCategory> getFormsForestScenarioCategories(String scenarioName) {
+        CoverageRecorder.recordData(FORMS_FOREST_DATA_FILE, scenarioName);
+        Set<ScenarioCategory> categories = getScenarioSource(FORMS_FOREST_DATA_FILE).getCategories(scenarioName);
+        return categories != null ? categories : ScenarioCategory.fromName(scenarioName);
     }
 
     /**
@@ -153,8 +210,7 @@ public class TestDataUtils {
      * @return true if the scenario represents valid test data
      */
     public static boolean isValidFormsForestScenario(String scenarioName) {
-        return scenarioName.toLowerCase().contains("valid") && 
-               !scenarioName.toLowerCase().contains("invalid");
+        return getFormsForestScenarioCategories(scenarioName).contains(ScenarioCategory.VALID);
     }
 
     /**
@@ -163,9 +219,7 @@ public class TestDataUtils {
      * @return true if the scenario represents invalid test data
      */
     public static boolean isInvalidFormsForestScenario(String scenarioName) {
-        return scenarioName.toLowerCase().contains("invalid") ||
-               scenarioName.toLowerCase().contains("empty") ||
-               scenarioName.toLowerCase().contains("terms") && scenarioName.toLowerCase().contains("not");
+        return getFormsForestScenarioCategories(scenarioName).contains(ScenarioCategory.INVALID);
     }
 
     /**
@@ -174,12 +228,6 @@ public class TestDataUtils {
      * @return true if the scenario represents edge case test data
      */
     public static boolean isEdgeCaseFormsForestScenario(String scenarioName) {
-        return scenarioName.toLowerCase().contains("special") ||
-               scenarioName.toLowerCase().contains("unicode") ||
-               scenarioName.toLowerCase().contains("long") ||
-               scenarioName.toLowerCase().contains("sql") ||
-               scenarioName.toLowerCase().contains("xss") ||
-               scenarioName.toLowerCase().contains("numeric") ||
-               scenarioName.toLowerCase().contains("whitespace");
-    }
-}
\ No newline at end of file
+        return getFormsForestScenarioCategories(scenarioName).contains(ScenarioCategory.EDGE_CASE);
+    }
+}
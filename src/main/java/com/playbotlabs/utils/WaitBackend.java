@@ -0,0 +1,12 @@
+package com.playbotlabs.utils;
+
+/**
+ * How WaitUtils detects that a condition has been met.
+ * POLLING re-checks through ExpectedConditions every poll interval;
+ * MUTATION_OBSERVER waits inside the browser and resolves on the first
+ * DOM change that satisfies the condition.
+ */
+public enum WaitBackend {
+    POLLING,
+    MUTATION_OBSERVER
+}
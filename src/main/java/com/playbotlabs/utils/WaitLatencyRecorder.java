@@ -0,0 +1,194 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.config.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long each wait condition takes and derives timeouts from it.
+ * Latencies are kept in log-scale histograms per condition key and persisted
+ * across runs, so a wait that normally resolves in 300ms can fail after a
+ * few seconds instead of the full configured timeout.
+ */
+public class WaitLatencyRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(WaitLatencyRecorder.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Bucket upper bounds grow by 25% from 5ms, the last bucket catches everything above two minutes
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = bucketBounds();
+
+    private static final File latencyFile = new File(ConfigManager.getWaitLatencyFile());
+
+    private static final Map<String, long[]> history = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> recordedThisRun = new ConcurrentHashMap<>();
+
+    static {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitLatencyRecorder::save, "wait-latency-save"));
+    }
+
+    /**
+     * Record the latency of a wait that succeeded
+     * @param key the condition key, e.g. "visible:By.name: username"
+     * @param latency how long the condition took to be met
+     */
+    public static void record(String key, Duration latency) {
+        int bucket = bucketFor(latency.toMillis());
+        increment(history, key, bucket);
+        increment(recordedThisRun, key, bucket);
+    }
+
+    /**
+     * Derive the timeout for a wait condition from its observed latency
+     * @param key the condition key
+     * @param configured the configured timeout, which is also the hard upper cap
+     * @return the adaptive timeout, or the configured one when adaptation is off or history is too thin
+     */
+    public static Duration timeoutFor(String key, Duration configured) {
+        FrameworkConfig.AdaptiveWait settings = ConfigManager.getConfig().adaptiveWait();
+        if (!settings.enabled()) {
+            return configured;
+        }
+        long[] counts = history.get(key);
+        if (counts == null) {
+            return configured;
+        }
+        long percentileMillis;
+        synchronized (counts) {
+            if (total(counts) < settings.minSamples()) {
+                return configured;
+            }
+            percentileMillis = percentile(counts, settings.percentile());
+        }
+        long adaptive = (long) (percentileMillis * settings.multiplier());
+        adaptive = Math.max(adaptive, settings.floor().toMillis());
+        return Duration.ofMillis(Math.min(adaptive, configured.toMillis()));
+    }
+
+    /**
+     * Get the observed latency percentile for a condition
+     * @param key the condition key
+     * @param percentile the percentile between 0 and 100
+     * @return the bucket upper bound in milliseconds, or -1 when nothing was recorded
+     */
+    public static long getPercentileMillis(String key, double percentile) {
+        long[] counts = history.get(key);
+        if (counts == null) {
+            return -1;
+        }
+        synchronized (counts) {
+            return percentile(counts, percentile);
+        }
+    }
+
+    /**
+     * Merge this run's samples into the latency file
+     */
+    public static synchronized void save() {
+        if (recordedThisRun.isEmpty()) {
+            return;
+        }
+        Map<String, long[]> merged = new TreeMap<>(read(latencyFile));
+        recordedThisRun.forEach((key, counts) -> {
+            long[] target = merged.computeIfAbsent(key, k -> new long[BUCKET_UPPER_BOUNDS_MILLIS.length]);
+            synchronized (counts) {
+                for (int i = 0; i < counts.length; i++) {
+                    target[i] += counts[i];
+                }
+            }
+        });
+        try {
+            File parent = latencyFile.getAbsoluteFile().getParentFile();
+            Files.createDirectories(parent.toPath());
+            File temp = File.createTempFile("wait-latency", ".json", parent);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp, merged);
+            Files.move(temp.toPath(), latencyFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordedThisRun.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to save wait latency history to {}", latencyFile, e);
+        }
+    }
+
+    private static void load() {
+        history.putAll(read(latencyFile));
+    }
+
+    private static Map<String, long[]> read(File file) {
+        if (!file.isFile()) {
+            return Map.of();
+        }
+        try {
+            Map<String, long[]> stored = objectMapper.readValue(file, new TypeReference<Map<String, long[]>>() {});
+            stored.values().removeIf(counts -> counts.length != BUCKET_UPPER_BOUNDS_MILLIS.length);
+            return stored;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable wait latency history at {}", file, e);
+            return Map.of();
+        }
+    }
+
+    private static void increment(Map<String, long[]> histograms, String key, int bucket) {
+        long[] counts = histograms.computeIfAbsent(key, k -> new long[BUCKET_UPPER_BOUNDS_MILLIS.length]);
+        synchronized (counts) {
+            counts[bucket]++;
+        }
+    }
+
+    static int bucketFor(long millis) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length - 1; i++) {
+            if (millis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS.length - 1;
+    }
+
+    static long percentile(long[] counts, double percentile) {
+        long total = total(counts);
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BUCKET_UPPER_BOUNDS_MILLIS[i];
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS[counts.length - 1];
+    }
+
+    private static long total(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static long[] bucketBounds() {
+        List<Long> bounds = new ArrayList<>();
+        double bound = 5;
+        while (bound < 120_000) {
+            bounds.add((long) Math.ceil(bound));
+            bound *= 1.25;
+        }
+        bounds.add(Long.MAX_VALUE);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -1,25 +1,127 @@
 package com.playbotlabs.utils;
 
 import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.config.FrameworkConfig;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public class WaitUtils {
+    private static final Logger logger = LoggerFactory.getLogger(WaitUtils.class);
+
+    // Adaptive timeouts come from a few histogram buckets, so a thread rarely needs more distinct waits
+    private static final int MAX_CACHED_WAITS = 32;
+
+    private static final ThreadLocal<WaitCache> waits = ThreadLocal.withInitial(WaitCache::new);
+
+    // Longest single executeAsyncScript call, kept below the default 30s script timeout
+    private static final long OBSERVER_CHUNK_MILLIS = 10_000;
+
+    // Resolves with true as soon as the condition holds, or false when the chunk expires
+    private static final String OBSERVE_SCRIPT =
+            "var using = arguments[0], value = arguments[1], condition = arguments[2];" +
+            "var timeoutMs = arguments[3], done = arguments[arguments.length - 1];" +
+            "function find() {" +
+            "  if (using === 'xpath') {" +
+            "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return document.querySelector(value);" +
+            "}" +
+            "function visible(el) {" +
+            "  if (!el) { return false; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  return style.display !== 'none' && style.visibility !== 'hidden' && el.getClientRects().length > 0;" +
+            "}" +
+            "function met() {" +
+            "  var el = find();" +
+            "  if (condition === 'visible') { return visible(el); }" +
+            "  if (condition === 'clickable') { return visible(el) && !el.disabled; }" +
+            "  return !visible(el);" +
+            "}" +
+            "if (met()) { done(true); return; }" +
+            "var observer, interval, timer, finished = false;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  observer.disconnect(); clearInterval(interval); clearTimeout(timer); done(result);" +
+            "}" +
+            "observer = new MutationObserver(function () { if (met()) { finish(true); } });" +
+            "observer.observe(document.documentElement," +
+            "  {childList: true, subtree: true, attributes: true, characterData: true});" +
+            // Style changes from stylesheets or transitions do not mutate the DOM, so re-check cheaply in-page
+            "interval = setInterval(function () { if (met()) { finish(true); } }, 100);" +
+            "timer = setTimeout(function () { finish(false); }, timeoutMs);";
+
+    // Returns the index of the first selector with a visible match, or -1
+    private static final String FIRST_VISIBLE_SCRIPT =
+            "var selectors = arguments[0];" +
+            "for (var i = 0; i < selectors.length; i++) {" +
+            "  var nodes = document.querySelectorAll(selectors[i]);" +
+            "  for (var j = 0; j < nodes.length; j++) {" +
+            "    var style = window.getComputedStyle(nodes[j]);" +
+            "    if (style.display !== 'none' && style.visibility !== 'hidden'" +
+            "        && nodes[j].getClientRects().length > 0) { return i; }" +
+            "  }" +
+            "}" +
+            "return -1;";
+
     private static WebDriverWait getWait() {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(ConfigManager.getExplicitWait()));
+        return getWait(ConfigManager.getConfig().explicitWait());
+    }
+
+    // Drop the calling thread's waits so they do not keep a quit driver reachable
+    static void releaseWaits() {
+        waits.remove();
+    }
+
+    // Waits are only read after construction, so one per timeout is reused for the thread's current driver
+    private static WebDriverWait getWait(Duration timeout) {
+        return waits.get().get(DriverManager.getDriver(), ConfigManager.getConfig(), timeout);
     }
 
     public static WebElement waitForElementToBeVisible(By locator) {
-        return getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitForElementToBeVisible(locator, getDefaultBackend());
+    }
+
+    public static WebElement waitForElementToBeVisible(By locator, WaitBackend backend) {
+        String key = "visible:" + locator;
+        Duration timeout = adaptiveTimeout(key);
+        long start = System.nanoTime();
+        WebElement element = observeInBrowser(locator, "visible", backend, timeout)
+                ? DriverManager.getDriver().findElement(locator)
+                : getWait(timeout).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        recordLatency(key, start);
+        return element;
     }
 
     public static WebElement waitForElementToBeClickable(By locator) {
-        return getWait().until(ExpectedConditions.elementToBeClickable(locator));
+        return waitForElementToBeClickable(locator, getDefaultBackend());
+    }
+
+    public static WebElement waitForElementToBeClickable(By locator, WaitBackend backend) {
+        String key = "clickable:" + locator;
+        Duration timeout = adaptiveTimeout(key);
+        long start = System.nanoTime();
+        WebElement element = observeInBrowser(locator, "clickable", backend, timeout)
+                ? DriverManager.getDriver().findElement(locator)
+                : getWait(timeout).until(ExpectedConditions.elementToBeClickable(locator));
+        recordLatency(key, start);
+        return element;
     }
 
     public static WebElement waitForElementToBeClickable(WebElement element) {
@@ -27,7 +129,17 @@ public class WaitUtils {
     }
 
     public static boolean waitForElementToBeInvisible(By locator) {
-        return getWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return waitForElementToBeInvisible(locator, getDefaultBackend());
+    }
+
+    public static boolean waitForElementToBeInvisible(By locator, WaitBackend backend) {
+        String key = "invisible:" + locator;
+        Duration timeout = adaptiveTimeout(key);
+        long start = System.nanoTime();
+        boolean invisible = observeInBrowser(locator, "invisible", backend, timeout)
+                || getWait(timeout).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        recordLatency(key, start);
+        return invisible;
     }
 
     public static void waitForPageTitle(String title) {
@@ -37,4 +149,211 @@ public class WaitUtils {
     public static void waitForUrl(String url) {
         getWait().until(ExpectedConditions.urlContains(url));
     }
-}
\ No newline at end of file
+
+    /**
+     * Wait for a condition inside the browser with an injected MutationObserver
+     * @param locator the element locator, must be CSS, id, name, class name or XPath based
+     * @param condition "visible", "clickable" or "invisible"
+     * @param backend the requested backend; anything but MUTATION_OBSERVER returns false at once
+     * @param timeout how long to wait before giving up
+     * @return true if the condition was met, false if the caller should fall back to polling
+     * @throws TimeoutException if the condition was not met within the timeout
+     */
+    private static boolean observeInBrowser(By locator, String condition, WaitBackend backend, Duration timeout) {
+        if (backend != WaitBackend.MUTATION_OBSERVER || !(locator instanceof By.Remotable)) {
+            return false;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        if (!"css selector".equals(using) && !"xpath".equals(using)) {
+            return false;
+        }
+
+        JavascriptExecutor executor = (JavascriptExecutor) DriverManager.getDriver();
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        try {
+            long remaining;
+            while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                Object met = executor.executeAsyncScript(OBSERVE_SCRIPT, using, String.valueOf(parameters.value()),
+                        condition, Math.min(remaining, OBSERVER_CHUNK_MILLIS));
+                if (Boolean.TRUE.equals(met)) {
+                    return true;
+                }
+            }
+        } catch (JavascriptException | UnsupportedCommandException e) {
+            logger.debug("MutationObserver wait unavailable, falling back to polling: {}", e.getMessage());
+            return false;
+        }
+        throw new TimeoutException("Timed out after " + timeout.toMillis()
+                + "ms waiting for " + locator + " to be " + condition);
+    }
+
+    private static Duration adaptiveTimeout(String key) {
+        return WaitLatencyRecorder.timeoutFor(key, ConfigManager.getConfig().explicitWait());
+    }
+
+    private static void recordLatency(String key, long startNanos) {
+        WaitLatencyRecorder.record(key, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private static WaitBackend getDefaultBackend() {
+        return ConfigManager.getConfig().waitBackend();
+    }
+
+    /**
+     * Check without waiting: one lookup, true if a matching element is visible right now.
+     * Use {@link #isDisplayedWithin} when the element may still be on its way.
+     * @param locator the element locator
+     * @return true if a matching element is visible
+     */
+    public static boolean isDisplayed(By locator) {
+        return !isAbsentNow(locator);
+    }
+
+    /**
+     * Check without waiting: true if the element is visible right now
+     * @param element the element, usually a PageFactory proxy
+     * @return true if the element is visible, false if it is hidden or missing
+     */
+    public static boolean isDisplayed(WebElement element) {
+        return withoutImplicitWait(() -> {
+            try {
+                return element.isDisplayed();
+            } catch (WebDriverException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Positive check: wait up to the positive timeout for the element to become visible
+     * @param locator the element locator
+     * @return true if the element became visible in time
+     */
+    public static boolean waitForDisplayed(By locator) {
+        return isDisplayedWithin(locator, ConfigManager.getConfig().positiveWaitTimeout());
+    }
+
+    /**
+     * Wait up to the given timeout for the element to become visible
+     * @param locator the element locator
+     * @param timeout how long to wait before giving up
+     * @return true if the element became visible in time
+     */
+    public static boolean isDisplayedWithin(By locator, Duration timeout) {
+        String key = "displayed:" + locator;
+        long start = System.nanoTime();
+        try {
+            getWait(WaitLatencyRecorder.timeoutFor(key, timeout))
+                    .until(ExpectedConditions.visibilityOfElementLocated(locator));
+            recordLatency(key, start);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Race several CSS selectors and report which one became visible first.
+     * All candidates are checked in a single script call per poll, in order.
+     * @param timeout how long to wait before giving up
+     * @param cssSelectors the candidate selectors, in priority order
+     * @return index of the first selector with a visible match, or -1 on timeout
+     */
+    public static int waitForFirstVisible(Duration timeout, List<String> cssSelectors) {
+        String key = "first-visible:" + cssSelectors;
+        long start = System.nanoTime();
+        try {
+            int first = getWait(WaitLatencyRecorder.timeoutFor(key, timeout)).until(driver -> {
+                Number index = (Number) ((JavascriptExecutor) driver).executeScript(FIRST_VISIBLE_SCRIPT, cssSelectors);
+                return index.intValue() >= 0 ? index.intValue() : null;
+            });
+            recordLatency(key, start);
+            return first;
+        } catch (TimeoutException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Wait for a form submission to show a success message, an error message or validation errors
+     * @param timeout how long to wait before giving up
+     * @param successSelector CSS selector of the success message
+     * @param errorSelector CSS selector of the error message
+     * @param validationSelector CSS selector of the validation errors
+     * @return the outcome that appeared first, or TIMEOUT
+     */
+    public static FormOutcome waitForOutcome(Duration timeout, String successSelector,
+                                             String errorSelector, String validationSelector) {
+        int index = waitForFirstVisible(timeout, List.of(successSelector, errorSelector, validationSelector));
+        return index < 0 ? FormOutcome.TIMEOUT : FormOutcome.values()[index];
+    }
+
+    /**
+     * Negative check: wait up to the negative timeout for every matching element to be gone or hidden
+     * @param locator the element locator
+     * @return true if no matching element is visible
+     */
+    public static boolean isAbsent(By locator) {
+        try {
+            return getWait(ConfigManager.getConfig().negativeWaitTimeout())
+                    .until(driver -> noneDisplayed(driver, locator));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Negative check without waiting: one lookup, true if no matching element is visible right now
+     * @param locator the element locator
+     * @return true if no matching element is visible
+     */
+    public static boolean isAbsentNow(By locator) {
+        return withoutImplicitWait(() -> noneDisplayed(DriverManager.getDriver(), locator));
+    }
+
+    private static boolean noneDisplayed(WebDriver driver, By locator) {
+        for (WebElement element : driver.findElements(locator)) {
+            try {
+                if (element.isDisplayed()) {
+                    return false;
+                }
+            } catch (WebDriverException e) {
+                // Element went stale between lookup and check, so it is no longer displayed
+            }
+        }
+        return true;
+    }
+
+    private static <T> T withoutImplicitWait(Supplier<T> check) {
+        FrameworkConfig config = ConfigManager.getConfig();
+        if (config.explicitWaitEngine()) {
+            return check.get();
+        }
+        WebDriver.Timeouts timeouts = DriverManager.getDriver().manage().timeouts();
+        timeouts.implicitlyWait(Duration.ZERO);
+        try {
+            return check.get();
+        } finally {
+            timeouts.implicitlyWait(config.implicitWait());
+        }
+    }
+
+    /**
+     * One thread's waits, dropped when the thread switches driver or the config snapshot is reloaded
+     */
+    private static final class WaitCache {
+        private WebDriver driver;
+        private FrameworkConfig config;
+        private final Map<Duration, WebDriverWait> byTimeout = new HashMap<>();
+
+        WebDriverWait get(WebDriver currentDriver, FrameworkConfig currentConfig, Duration timeout) {
+            if (driver != currentDriver || config != currentConfig || byTimeout.size() >= MAX_CACHED_WAITS) {
+                byTimeout.clear();
+                driver = currentDriver;
+                config = currentConfig;
+            }
+            return byTimeout.computeIfAbsent(timeout, key -> new WebDriverWait(currentDriver, key));
+        }
+    }
+}
@@ -32,6 +32,13 @@ public class ConfigManagerTest {
         Assert.assertEquals(browser, "chrome", "Default browser should be chrome");
     }
 
+    @Test
+    public void testEnvironmentOverridesArePrefixed() {
+        Assert.assertEquals(ConfigManager.environmentName("browser"), "PLAYBOTLABS_BROWSER",
+                "Environment overrides should not read the standard BROWSER variable");
+        Assert.assertEquals(ConfigManager.environmentName("wait.backend"), "PLAYBOTLABS_WAIT_BACKEND");
+    }
+
     @Test
     public void testTimeoutConfiguration() {
         int implicitWait = ConfigManager.getImplicitWait();
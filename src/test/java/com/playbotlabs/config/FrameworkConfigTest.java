@@ -0,0 +1,82 @@
+package com.playbotlabs.config;
+
+import com.playbotlabs.utils.WaitBackend;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class FrameworkConfigTest {
+
+    @Test
+    public void testSnapshotMatchesConfigFile() {
+        FrameworkConfig config = ConfigManager.getConfig();
+        Assert.assertEquals(config.browser(), "chrome");
+        Assert.assertEquals(config.explicitWait(), Duration.ofSeconds(20));
+        Assert.assertEquals(config.negativeWaitTimeout(), Duration.ofMillis(1000));
+        Assert.assertEquals(config.waitBackend(), WaitBackend.POLLING);
+        Assert.assertSame(ConfigManager.getConfig(), config, "Snapshot should be built once and reused");
+    }
+
+    @Test
+    public void testDefaultsAndParsing() {
+        FrameworkConfig config = FrameworkConfig.from(Map.of(
+                "browser", "Firefox",
+                "implicit.wait", "5",
+                "wait.engine", "legacy",
+                "wait.backend", "mutation_observer",
+                "wait.adaptive.percentile", "95",
+                "parallel.threads", "6")::get);
+        Assert.assertEquals(config.browser(), "firefox");
+        Assert.assertEquals(config.baseUrl(), "http://127.0.0.1:5006/");
+        Assert.assertFalse(config.headless());
+        Assert.assertEquals(config.positiveWaitTimeout(), Duration.ofSeconds(5),
+                "Positive timeout should default to the implicit wait");
+        Assert.assertFalse(config.explicitWaitEngine());
+        Assert.assertEquals(config.waitBackend(), WaitBackend.MUTATION_OBSERVER);
+        Assert.assertFalse(config.adaptiveWait().enabled());
+        Assert.assertEquals(config.adaptiveWait().percentile(), 95.0);
+        Assert.assertEquals(config.adaptiveWait().floor(), Duration.ofMillis(2000));
+        Assert.assertEquals(config.sessions().poolSize(), 6, "Pool size should default to the thread count");
+        Assert.assertEquals(config.sessions().prespawnDepth(), 6, "Pre-spawn depth should default to the thread count");
+        Assert.assertEquals(config.sessions().poolMaxLeases(), 25);
+    }
+
+    @Test
+    public void testInvalidSettingsAreAllReported() {
+        RuntimeException error = Assert.expectThrows(RuntimeException.class, () -> FrameworkConfig.from(Map.of(
+                "browser", "netscape",
+                "base.url", "localhost:5006",
+                "headless", "yes",
+                "explicit.wait", "-1",
+                "wait.backend", "sleep",
+                "wait.adaptive.percentile", "150",
+                "driver.pool.size", "four")::get));
+        for (String key : new String[] {"browser", "base.url", "headless", "explicit.wait", "wait.backend",
+                "wait.adaptive.percentile", "driver.pool.size"}) {
+            Assert.assertTrue(error.getMessage().contains(key + "="), "Missing " + key + " in: " + error.getMessage());
+        }
+    }
+
+    @Test
+    public void testScopedOverridesApplyToTheCallingThreadOnly() throws Exception {
+        FrameworkConfig global = ConfigManager.getConfig();
+        try (ConfigScope outer = ConfigManager.override(Map.of("browser", "firefox", "explicit.wait", "5"))) {
+            Assert.assertEquals(ConfigManager.getBrowser(), "firefox");
+            Assert.assertEquals(CompletableFuture.supplyAsync(ConfigManager::getBrowser).get(), "chrome",
+                    "Other threads should keep the global settings");
+            try (ConfigScope inner = ConfigManager.override(Map.of("headless", "false"))) {
+                Assert.assertSame(ConfigManager.getConfig(), inner.config());
+                Assert.assertEquals(ConfigManager.getBrowser(), "firefox", "Nested scopes should inherit overrides");
+                Assert.assertFalse(ConfigManager.isHeadless());
+                Assert.assertEquals(ConfigManager.getExplicitWait(), 5);
+            }
+            Assert.assertSame(ConfigManager.getConfig(), outer.config());
+            Assert.assertEquals(ConfigManager.callWith(global, ConfigManager::getBrowser), "chrome");
+            Assert.assertSame(ConfigManager.getConfig(), outer.config());
+        }
+        Assert.assertSame(ConfigManager.getConfig(), global);
+    }
+}
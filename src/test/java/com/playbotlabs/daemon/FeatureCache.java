@@ -0,0 +1,76 @@
+package com.playbotlabs.daemon;
+
+import io.cucumber.core.feature.FeatureIdentifier;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.resource.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Parsed feature files kept between daemon runs, re-parsed only when a file changes
+ */
+class FeatureCache {
+    private final Path root;
+    private final FeatureParser parser = new FeatureParser(UUID::randomUUID);
+    private final Map<Path, CachedFeature> features = new HashMap<>();
+
+    private record CachedFeature(long lastModified, Feature feature) {
+    }
+
+    FeatureCache(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Get every feature under the root, re-parsing new and changed files
+     * @return the parsed features, with the same URIs Cucumber gives feature:line selectors
+     */
+    synchronized List<Feature> getFeatures() {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(FeatureIdentifier::isFeature).sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list feature files in " + root, e);
+        }
+        features.keySet().retainAll(files);
+        List<Feature> current = new ArrayList<>();
+        for (Path file : files) {
+            long lastModified = file.toFile().lastModified();
+            CachedFeature cached = features.get(file);
+            if (cached == null || cached.lastModified() != lastModified) {
+                cached = new CachedFeature(lastModified, parse(file));
+                features.put(file, cached);
+            }
+            if (cached.feature() != null) {
+                current.add(cached.feature());
+            }
+        }
+        return current;
+    }
+
+    private Feature parse(Path file) {
+        URI uri = FeatureIdentifier.parse(file.toString());
+        return parser.parseResource(new Resource() {
+            @Override
+            public URI getUri() {
+                return uri;
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(file);
+            }
+        }).orElse(null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.playbotlabs.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Child-first class loader for the classes a developer edits between runs: page objects and steps.
+ * Those packages are loaded from the compiled class directories on every new loader, so a rebuilt
+ * class takes effect without restarting the JVM. Everything else, including DriverManager, the
+ * driver pool and ConfigManager, comes from the parent so their state and warm browsers survive.
+ */
+class ReloadingClassLoader extends URLClassLoader {
+    static final List<String> RELOADED_PACKAGES = List.of("com.playbotlabs.pages.", "com.playbotlabs.steps.");
+
+    ReloadingClassLoader(List<File> classDirectories, ClassLoader parent) {
+        super(toUrls(classDirectories), parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isReloaded(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    loaded = super.loadClass(name, false);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    // Cucumber scans glue packages through resources, which must not list the parent's copies too
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+        return isReloaded(name.replace('/', '.') + ".") ? findResources(name) : super.getResources(name);
+    }
+
+    static boolean isReloaded(String name) {
+        for (String prefix : RELOADED_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fingerprint the compiled classes of the reloaded packages
+     * @param classDirectories the compiled class directories
+     * @return a value that changes when a reloaded class is added, removed or rebuilt
+     */
+    static long fingerprint(List<File> classDirectories) {
+        long fingerprint = 0;
+        for (File directory : classDirectories) {
+            for (String prefix : RELOADED_PACKAGES) {
+                fingerprint = fingerprint * 31 + fingerprint(new File(directory, prefix.replace('.', '/')));
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long fingerprint(File file) {
+        if (file.isFile()) {
+            return file.getName().hashCode() * 31L + file.lastModified();
+        }
+        File[] children = file.listFiles();
+        long fingerprint = 0;
+        if (children != null) {
+            for (File child : children) {
+                fingerprint += fingerprint(child);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static URL[] toUrls(List<File> directories) {
+        URL[] urls = new URL[directories.size()];
+        for (int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = directories.get(i).toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new RuntimeException("Invalid class directory " + directories.get(i), e);
+            }
+        }
+        return urls;
+    }
+}
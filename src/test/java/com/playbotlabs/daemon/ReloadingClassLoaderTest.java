@@ -0,0 +1,35 @@
+package com.playbotlabs.daemon;
+
+import com.playbotlabs.steps.BaseSteps;
+import com.playbotlabs.utils.DriverManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+public class ReloadingClassLoaderTest {
+    private static final List<File> CLASS_DIRECTORIES = List.of(new File("target/test-classes"), new File("target/classes"));
+
+    @Test
+    public void testStepsAreReloadedAndInfrastructureIsShared() throws Exception {
+        try (ReloadingClassLoader loader = new ReloadingClassLoader(CLASS_DIRECTORIES, getClass().getClassLoader())) {
+            Class<?> steps = loader.loadClass(BaseSteps.class.getName());
+            Assert.assertNotSame(steps, BaseSteps.class, "Step classes should come from the reloading loader");
+            Assert.assertSame(steps.getClassLoader(), loader);
+            Assert.assertSame(loader.loadClass(DriverManager.class.getName()), DriverManager.class,
+                    "Driver state must be shared with the daemon");
+            Assert.assertEquals(Collections.list(loader.getResources("com/playbotlabs/steps")).size(), 1,
+                    "Glue scanning should only see the reloaded copy");
+        }
+    }
+
+    @Test
+    public void testClientRequestParsing() throws Exception {
+        RunnerDaemon.Request request = RunnerClient.parse(new String[] {"--tags", "@smoke and not @wip", "a.feature:12"});
+        Assert.assertEquals(RunnerClient.toJson(request),
+                "{\"command\":\"run\",\"tags\":\"@smoke and not @wip\",\"features\":[\"a.feature:12\"]}");
+        Assert.assertEquals(RunnerClient.parse(new String[] {"--stop"}).command(), "stop");
+    }
+}
@@ -0,0 +1,68 @@
+package com.playbotlabs.daemon;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams scenario progress to a daemon client, one line per event
+ */
+class ResultStreamPlugin implements ConcurrentEventListener {
+    private final PrintWriter client;
+    private final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+
+    ResultStreamPlugin(PrintWriter client) {
+        this.client = client;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> send("STARTED " + describe(event.getTestCase())));
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Result result = event.getResult();
+        synchronized (counts) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+        }
+        String line = result.getStatus() + " " + describe(event.getTestCase())
+                + String.format(Locale.ROOT, " %.2fs", result.getDuration().toMillis() / 1000.0);
+        if (result.getError() != null) {
+            line += ": " + result.getError().getMessage();
+        }
+        send(line);
+    }
+
+    private void onTestRunFinished() {
+        StringBuilder summary = new StringBuilder("SUMMARY");
+        synchronized (counts) {
+            counts.forEach((status, count) -> summary.append(' ').append(count).append(' ')
+                    .append(status.name().toLowerCase(Locale.ROOT)));
+        }
+        send(summary.toString());
+    }
+
+    private static String describe(TestCase testCase) {
+        String uri = testCase.getUri().toString();
+        return testCase.getName() + " (" + uri.substring(uri.lastIndexOf('/') + 1) + ":" + testCase.getLocation().getLine() + ")";
+    }
+
+    private void send(String line) {
+        synchronized (client) {
+            client.println(line.replace('\n', ' '));
+            client.flush();
+        }
+    }
+}
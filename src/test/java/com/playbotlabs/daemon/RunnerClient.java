@@ -0,0 +1,72 @@
+package com.playbotlabs.daemon;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line client for {@link RunnerDaemon}.
+ * Usage: [--tags "expression"] [feature[:line]...] to run scenarios, or --stop to shut the daemon down.
+ * Results are printed as the daemon streams them, and the exit code is the run's exit status.
+ * The client runs on the compiled classes plus the project's compile dependencies (make daemon-run
+ * builds that class path once), reads the daemon port from config.properties and starts without Maven.
+ */
+public class RunnerClient {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        System.exit(send(parse(args)));
+    }
+
+    static RunnerDaemon.Request parse(String[] args) {
+        String tags = null;
+        List<String> features = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--stop".equals(args[i])) {
+                return new RunnerDaemon.Request("stop", null, List.of());
+            } else if ("--tags".equals(args[i]) && i + 1 < args.length) {
+                tags = args[++i];
+            } else if (!args[i].isBlank()) {
+                features.add(args[i]);
+            }
+        }
+        return new RunnerDaemon.Request("run", tags, features);
+    }
+
+    static String toJson(RunnerDaemon.Request request) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private static int send(RunnerDaemon.Request request) throws IOException {
+        int port = ConfigManager.getDaemonPort();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            out.println(toJson(request));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(RunnerDaemon.EXIT_PREFIX)) {
+                    return Integer.parseInt(line.substring(RunnerDaemon.EXIT_PREFIX.length()).trim());
+                }
+                System.out.println(line);
+            }
+            System.err.println("Runner daemon closed the connection before the run finished");
+            return 2;
+        } catch (ConnectException e) {
+            System.err.println("No runner daemon on port " + port + ", start one with: make daemon");
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.playbotlabs.daemon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.DriverManager;
+import io.cucumber.core.feature.FeatureWithLines;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import io.cucumber.core.runtime.Runtime;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Long-lived runner for fast local iteration, driven by {@link RunnerClient}.
+ * The JVM, ConfigManager, parsed features and a pooled browser session stay warm between runs;
+ * page and step classes are reloaded in a fresh {@link ReloadingClassLoader} whenever their
+ * compiled classes change, so only a test-compile is needed after an edit.
+ * Runs are executed one at a time, in the order clients connect.
+ */
+public class RunnerDaemon {
+    private static final Logger logger = LoggerFactory.getLogger(RunnerDaemon.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    static final String GLUE_PACKAGE = "com.playbotlabs.steps";
+    static final String EXIT_PREFIX = "EXIT ";
+
+    /**
+     * A client request, sent as one line of JSON
+     * @param command "run" or "stop"
+     * @param tags an optional tag expression
+     * @param features optional feature paths, each with optional ":line" suffixes
+     */
+    record Request(String command, String tags, List<String> features) {
+    }
+
+    private final List<File> classDirectories = List.of(new File("target/test-classes"), new File("target/classes"));
+    private final FeatureCache features = new FeatureCache(Paths.get(ConfigManager.getDaemonFeaturePath()));
+    private ReloadingClassLoader classLoader;
+    private long classFingerprint;
+
+    public static void main(String[] args) throws IOException {
+        // The pool keeps the browser open between runs; an explicit -Ddriver.pool.enabled=false still wins
+        if (System.getProperty("driver.pool.enabled") == null) {
+            System.setProperty("driver.pool.enabled", "true");
+        }
+        // Test data edited between runs must be parsed again; an explicit -Dtestdata.reload.check=false still wins
+        if (System.getProperty("testdata.reload.check") == null) {
+            System.setProperty("testdata.reload.check", "true");
+        }
+        new RunnerDaemon().serve(ConfigManager.getDaemonPort());
+    }
+
+    void serve(int port) throws IOException {
+        features.getFeatures();
+        warmBrowser();
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            logger.info("Runner daemon listening on 127.0.0.1:{}", port);
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    if (!handle(socket)) {
+                        logger.info("Runner daemon stopped");
+                        return;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Runner daemon request failed", e);
+                }
+            }
+        }
+    }
+
+    private boolean handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        String line = in.readLine();
+        if (line == null) {
+            return true;
+        }
+        Request request = objectMapper.readValue(line, Request.class);
+        if ("stop".equals(request.command())) {
+            out.println(EXIT_PREFIX + 0);
+            return false;
+        }
+        byte status;
+        try {
+            status = run(request, out);
+        } catch (RuntimeException e) {
+            out.println("ERROR " + e.getMessage());
+            status = 2;
+        }
+        out.println(EXIT_PREFIX + status);
+        return true;
+    }
+
+    /**
+     * Run the selected scenarios with the current page and step classes
+     * @param request the scenario selection
+     * @param out the client to stream results to
+     * @return the Cucumber exit status
+     */
+    byte run(Request request, PrintWriter out) {
+        RuntimeOptionsBuilder options = new RuntimeOptionsBuilder()
+                .addGlue(URI.create("classpath:/" + GLUE_PACKAGE.replace('.', '/')))
+                .setNoSummary();
+        if (request.tags() != null && !request.tags().isBlank()) {
+            options.addTagFilter(TagExpressionParser.parse(request.tags()));
+        }
+        if (request.features() != null) {
+            request.features().forEach(feature -> options.addFeature(FeatureWithLines.parse(feature)));
+        }
+        RuntimeOptions runtimeOptions = options.build();
+        ClassLoader loader = currentClassLoader(out);
+        Runtime runtime = Runtime.builder()
+                .withRuntimeOptions(runtimeOptions)
+                .withClassLoader(() -> loader)
+                .withFeatureSupplier(() -> selectedFeatures(request))
+                .withAdditionalPlugins(new ResultStreamPlugin(out))
+                .build();
+        runtime.run();
+        return runtime.exitStatus();
+    }
+
+    // Line filters are applied by Cucumber; this only narrows the cached features to the requested files
+    private List<Feature> selectedFeatures(Request request) {
+        List<Feature> all = features.getFeatures();
+        if (request.features() == null || request.features().isEmpty()) {
+            return all;
+        }
+        List<URI> requested = request.features().stream().map(feature -> FeatureWithLines.parse(feature).uri()).toList();
+        return all.stream().filter(feature -> requested.stream()
+                .anyMatch(uri -> feature.getUri().equals(uri) || feature.getUri().toString().startsWith(uri + "/")))
+                .toList();
+    }
+
+    private ClassLoader currentClassLoader(PrintWriter out) {
+        long fingerprint = ReloadingClassLoader.fingerprint(classDirectories);
+        if (classLoader == null || fingerprint != classFingerprint) {
+            if (classLoader != null) {
+                out.println("RELOADED page and step classes");
+                try {
+                    classLoader.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close the previous class loader", e);
+                }
+            }
+            classLoader = new ReloadingClassLoader(classDirectories, RunnerDaemon.class.getClassLoader());
+            classFingerprint = fingerprint;
+        }
+        return classLoader;
+    }
+
+    static void warmBrowser() {
+        try {
+            DriverManager.setDriver(ConfigManager.getBrowser());
+            DriverManager.quitDriver();
+        } catch (RuntimeException e) {
+            logger.warn("Could not start a warm browser session, scenarios will start their own: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.playbotlabs.daemon;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.impact.DependencyMap;
+import com.playbotlabs.impact.ImpactAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the feature, test data, page object and step definition trees and, after each save,
+ * re-runs only the scenarios the edit can affect on the daemon's warm browser.
+ * Impact comes from a {@link DependencyMap}: edited or new scenarios, scenarios whose steps
+ * reach a changed step or page method, and scenarios using a changed test data key.
+ * Edited page and step sources are compiled in-process, so no Maven build is needed between saves.
+ */
+public class WatchMode {
+    private static final Logger logger = LoggerFactory.getLogger(WatchMode.class);
+    private static final String PAGES_PACKAGE = "com.playbotlabs.pages";
+    private static final String STEPS_PACKAGE = "com.playbotlabs.steps";
+
+    private final RunnerDaemon daemon = new RunnerDaemon();
+    private final Path featuresDir = Paths.get(ConfigManager.getDaemonFeaturePath());
+    private final Path testDataDir = Paths.get(ConfigManager.getTestDataPath());
+    private final Path pagesDir = Paths.get(ConfigManager.getPagesSourcePath());
+    private final Path stepsDir = Paths.get(ConfigManager.getStepsSourcePath());
+    private final FeatureCache features = new FeatureCache(featuresDir);
+    private final Map<Path, String> contents = new HashMap<>();
+    // Files from a batch that failed to compile, checked again with the next batch
+    private final Set<Path> pending = new LinkedHashSet<>();
+    private final PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
+    private DependencyMap dependencies;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (System.getProperty("driver.pool.enabled") == null) {
+            System.setProperty("driver.pool.enabled", "true");
+        }
+        // Edited test data files must be parsed again by the next run; an explicit -Dtestdata.reload.check=false still wins
+        if (System.getProperty("testdata.reload.check") == null) {
+            System.setProperty("testdata.reload.check", "true");
+        }
+        new WatchMode().watch();
+    }
+
+    void watch() throws IOException, InterruptedException {
+        dependencies = buildDependencies();
+        RunnerDaemon.warmBrowser();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            for (Path root : List.of(featuresDir, testDataDir, pagesDir, stepsDir)) {
+                register(watcher, root, null);
+            }
+            logger.info("Watching {} scenarios for changes", dependencies.getScenarios().size());
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watcher, watcher.take(), changed);
+                // Editors save in several steps; wait until the tree has been quiet for the debounce period
+                WatchKey next;
+                while ((next = watcher.poll(ConfigManager.getWatchDebounceMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    collect(watcher, next, changed);
+                }
+                onChange(changed);
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.info("Watch mode stopped");
+        }
+    }
+
+    /**
+     * Work out and run the scenarios impacted by a batch of changed files
+     * @param changed the files created, modified or deleted since the last batch
+     */
+    void onChange(Set<Path> changed) {
+        pending.addAll(changed);
+        Set<Path> batch = new LinkedHashSet<>(pending);
+        Set<String> units = new HashSet<>();
+        List<Path> javaSources = new ArrayList<>();
+        Map<Path, String> edited = new HashMap<>();
+        for (Path file : batch) {
+            String before = contents.get(file);
+            String after = read(file);
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            edited.put(file, after);
+            String name = file.getFileName().toString();
+            if (name.endsWith(".java")) {
+                units.addAll(ImpactAnalysis.javaUnits(name.substring(0, name.length() - ".java".length()),
+                        file.toAbsolutePath().startsWith(pagesDir.toAbsolutePath()), before, after));
+                if (after != null) {
+                    javaSources.add(file);
+                }
+            } else if (name.endsWith(".json")) {
+                units.addAll(ImpactAnalysis.dataUnits(name, before, after));
+            }
+        }
+        // Keep the old contents until the batch compiles, so a failed file still counts as changed next time
+        if (!javaSources.isEmpty() && !compile(javaSources)) {
+            return;
+        }
+        edited.forEach((file, after) -> {
+            if (after == null) {
+                contents.remove(file);
+            } else {
+                contents.put(file, after);
+            }
+        });
+        pending.clear();
+        DependencyMap previous = dependencies;
+        dependencies = buildDependencies();
+        Set<String> impacted = new LinkedHashSet<>(dependencies.changedSince(previous));
+        impacted.addAll(dependencies.impactedBy(units));
+        if (impacted.isEmpty()) {
+            out.println("No scenarios impacted by " + batch.stream().map(Path::getFileName).toList());
+            return;
+        }
+        out.println("Running " + impacted.size() + " impacted scenario(s): " + impacted);
+        byte status = daemon.run(new RunnerDaemon.Request("run", null, List.copyOf(impacted)), out);
+        out.println(status == 0 ? "PASSED" : "FAILED");
+    }
+
+    private DependencyMap buildDependencies() {
+        return DependencyMap.scan(features.getFeatures(), stepsDir, pagesDir, testDataDir);
+    }
+
+    // One javac task for the whole batch, so a step can use a page method added in the same save.
+    // Page objects compile to target/classes and steps to target/test-classes, where the daemon reloads them
+    private boolean compile(List<Path> sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            out.println("ERROR no Java compiler available, run a test-compile and save again");
+            return false;
+        }
+        Path mainSources = sourceRoot(pagesDir, PAGES_PACKAGE);
+        Path testSources = sourceRoot(stepsDir, STEPS_PACKAGE);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaFileManager routing = new ForwardingJavaFileManager<>(fileManager) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                           JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+                    if (location != StandardLocation.CLASS_OUTPUT || sibling == null) {
+                        return super.getJavaFileForOutput(location, className, kind, sibling);
+                    }
+                    String output = Paths.get(sibling.toUri()).startsWith(mainSources) ? "target/classes" : "target/test-classes";
+                    Path classFile = Paths.get(output, className.replace('.', File.separatorChar) + kind.extension);
+                    return fileManager.getJavaFileObjectsFromPaths(List.of(classFile)).iterator().next();
+                }
+            };
+            // Sources javac reads from the source path only supply types; -implicit:none keeps them from being written
+            List<String> options = List.of("-d", "target/test-classes", "-cp", compileClasspath(),
+                    "-sourcepath", mainSources + File.pathSeparator + testSources,
+                    "-implicit:none", "-encoding", "UTF-8", "-nowarn");
+            boolean compiled = compiler.getTask(null, routing, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources)).call();
+            if (!compiled) {
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                        String file = diagnostic.getSource() == null ? "" : diagnostic.getSource().getName() + ":";
+                        out.println("ERROR " + file + diagnostic.getLineNumber() + " " + diagnostic.getMessage(null));
+                    }
+                }
+                return false;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compile " + sources, e);
+        }
+        return true;
+    }
+
+    // A package directory such as src/main/java/com/playbotlabs/pages sits under the source root src/main/java
+    static Path sourceRoot(Path packageDir, String packageName) {
+        Path root = packageDir.toAbsolutePath().normalize();
+        Path packagePath = Paths.get(packageName.replace('.', File.separatorChar));
+        if (!root.endsWith(packagePath)) {
+            return root;
+        }
+        for (int i = 0; i < packagePath.getNameCount(); i++) {
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    // exec:java runs in an isolated class loader, so java.class.path alone misses the project dependencies
+    private static String compileClasspath() {
+        Set<String> entries = new LinkedHashSet<>(List.of("target/classes", "target/test-classes"));
+        for (ClassLoader loader = WatchMode.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader urlLoader) {
+                for (URL url : urlLoader.getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        logger.debug("Skipping class path entry {}", url);
+                    }
+                }
+            }
+        }
+        entries.addAll(List.of(System.getProperty("java.class.path").split(File.pathSeparator)));
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // Files found in a new directory are reported as changed instead of being taken as the baseline
+    private void register(WatchService watcher, Path root, Set<Path> discovered) throws IOException {
+        if (!Files.isDirectory(root)) {
+            logger.warn("Not watching {}, it is not a directory", root);
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path path : walk.toList()) {
+                if (Files.isDirectory(path)) {
+                    path.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                } else if (discovered != null) {
+                    discovered.add(path);
+                } else {
+                    contents.put(path, read(path));
+                }
+            }
+        }
+    }
+
+    private void collect(WatchService watcher, WatchKey key, Set<Path> changed) throws IOException {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(contents.keySet());
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    register(watcher, path, changed);
+                }
+            } else {
+                changed.add(path);
+            }
+        }
+        key.reset();
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.playbotlabs.impact;
+
+import com.playbotlabs.utils.CoverageRecorder;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Feeds scenario boundaries and the step definitions and hooks each scenario runs to {@link CoverageRecorder}.
+ * Registered for every run in cucumber.properties and idle unless impact.record is true.
+ * Cucumber publishes these events on the thread running the scenario, which is the thread the recorder tracks.
+ */
+public class CoverageRecorderPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!CoverageRecorder.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> CoverageRecorder.start(scenarioId(event.getTestCase())));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            String unit = unitOf(event.getTestStep().getCodeLocation());
+            if (unit != null) {
+                CoverageRecorder.record(unit);
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class,
+                event -> CoverageRecorder.finish(event.getResult().getStatus() == Status.PASSED));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> CoverageRecorder.save());
+    }
+
+    /**
+     * Turn a Java glue code location into a step unit
+     * @param codeLocation e.g. "com.playbotlabs.steps.FormsForestSteps.i_submit_the_form()", null for undefined steps
+     * @return the unit, e.g. "step:FormsForestSteps.i_submit_the_form", or null if there is no location
+     */
+    static String unitOf(String codeLocation) {
+        if (codeLocation == null || codeLocation.isBlank()) {
+            return null;
+        }
+        int arguments = codeLocation.indexOf('(');
+        String qualified = arguments < 0 ? codeLocation : codeLocation.substring(0, arguments);
+        int methodStart = qualified.lastIndexOf('.');
+        String className = qualified.substring(0, Math.max(methodStart, 0));
+        String simpleName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+        return CoverageRecorder.stepUnit(simpleName, qualified.substring(methodStart + 1));
+    }
+
+    private static String scenarioId(TestCase testCase) {
+        return ScenarioDurationHistory.idOf(testCase.getUri(), testCase.getLocation().getLine());
+    }
+}
@@ -0,0 +1,346 @@
+package com.playbotlabs.impact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playbotlabs.utils.CoverageRecorder;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import io.cucumber.core.gherkin.Argument;
+import io.cucumber.core.gherkin.DataTableArgument;
+import io.cucumber.core.gherkin.DocStringArgument;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.gherkin.Step;
+import io.cucumber.cucumberexpressions.Expression;
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Static map from each scenario to the code and data it can reach: the step definitions its steps
+ * match, the page object methods those steps call (transitively), and the test data keys passed
+ * as step arguments or named in the step code. Units are plain strings:
+ * <pre>
+ * step:FormsForestSteps.i_fill_the_username_field_with
+ * page:FormsForestPage.fillUsername
+ * data:forms-forest-data.json#validData   (a key the scenario uses)
+ * data:forms-forest-data.json             (the file, when the keys used cannot be worked out)
+ * </pre>
+ * Resolution is by simple method name, so it over-approximates: a scenario may be reported
+ * as impacted when it is not, never the reverse for calls made through page and step methods.
+ * Unit names are shared with {@link CoverageRecorder}, which records the same units at run time.
+ */
+public final class DependencyMap {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Pattern STEP_ANNOTATION = Pattern.compile(
+            "@(?:Given|When|Then|And|But)\\s*\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)");
+    private static final Pattern HOOK_ANNOTATION = Pattern.compile("@(?:Before|After|BeforeStep|AfterStep)\\b");
+
+    /**
+     * One scenario and what it depends on
+     * @param id the scenario id, see {@link ScenarioDurationHistory#idOf}
+     * @param signature name, tags and step texts, used to spot edited scenarios when lines move
+     * @param units the step, page and data units the scenario can reach
+     */
+    public record ScenarioDependencies(String id, String signature, Set<String> units) {
+    }
+
+    private record StepDefinition(String unit, Expression expression) {
+    }
+
+    private final Map<String, ScenarioDependencies> scenarios;
+
+    private DependencyMap(Map<String, ScenarioDependencies> scenarios) {
+        this.scenarios = Collections.unmodifiableMap(scenarios);
+    }
+
+    /**
+     * Build the map from sources already in memory
+     * @param features the parsed feature files
+     * @param stepSources step definition class simple name to Java source
+     * @param pageSources page object class simple name to Java source
+     * @param dataKeys test data file name to its top-level keys
+     * @return the map
+     */
+    public static DependencyMap build(List<Feature> features, Map<String, String> stepSources,
+                                      Map<String, String> pageSources, Map<String, Set<String>> dataKeys) {
+        Map<String, Set<String>> pageMethods = new HashMap<>();
+        Map<String, Set<String>> pageCalls = new HashMap<>();
+        pageSources.forEach((className, source) -> parse(className, source, true, pageMethods, pageCalls));
+
+        Map<String, Set<String>> stepMethods = new HashMap<>();
+        Map<String, Set<String>> stepCalls = new HashMap<>();
+        Map<String, Set<String>> stepLiterals = new HashMap<>();
+        List<StepDefinition> definitions = new ArrayList<>();
+        Set<String> hooks = new LinkedHashSet<>();
+        ExpressionFactory expressions = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+        stepSources.forEach((className, source) -> {
+            Map<String, Set<String>> classMethods = new HashMap<>();
+            parse(className, source, false, classMethods, stepCalls);
+            classMethods.forEach((name, units) -> stepMethods.computeIfAbsent(name, key -> new HashSet<>()).addAll(units));
+            for (Map.Entry<String, String> method : JavaSourceMethods.parse(source).getMethods().entrySet()) {
+                if (method.getKey().equals(JavaSourceMethods.OUTSIDE_METHODS)) {
+                    continue;
+                }
+                String unit = stepUnit(className, method.getKey());
+                stepLiterals.computeIfAbsent(unit, key -> new HashSet<>())
+                        .addAll(JavaSourceMethods.stringLiterals(method.getValue()));
+                Matcher annotation = STEP_ANNOTATION.matcher(method.getValue());
+                while (annotation.find()) {
+                    String text = annotation.group(1).replace("\\\"", "\"").replace("\\\\", "\\");
+                    definitions.add(new StepDefinition(unit, expressions.createExpression(text)));
+                }
+                if (HOOK_ANNOTATION.matcher(JavaSourceMethods.mask(method.getValue())).find()) {
+                    hooks.add(unit);
+                }
+            }
+        });
+
+        Map<String, Set<String>> pageClosures = new HashMap<>();
+        Map<String, ScenarioDependencies> scenarios = new LinkedHashMap<>();
+        for (Feature feature : features) {
+            for (Pickle pickle : feature.getPickles()) {
+                Set<String> steps = new LinkedHashSet<>(hooks);
+                Set<String> arguments = new HashSet<>();
+                for (Step step : pickle.getSteps()) {
+                    for (StepDefinition definition : definitions) {
+                        List<io.cucumber.cucumberexpressions.Argument<?>> match = definition.expression().match(step.getText());
+                        if (match != null) {
+                            steps.add(definition.unit());
+                            match.forEach(argument -> arguments.add(String.valueOf(argument.getValue())));
+                        }
+                    }
+                    arguments.addAll(argumentTexts(step.getArgument()));
+                }
+                Set<String> units = new LinkedHashSet<>(closure(steps, stepCalls, stepMethods));
+                Set<String> literals = new HashSet<>(arguments);
+                for (String unit : List.copyOf(units)) {
+                    literals.addAll(stepLiterals.getOrDefault(unit, Set.of()));
+                    for (String called : stepCalls.getOrDefault(unit, Set.of())) {
+                        for (String page : pageMethods.getOrDefault(called, Set.of())) {
+                            units.addAll(pageClosures.computeIfAbsent(page,
+                                    start -> closure(Set.of(start), pageCalls, pageMethods)));
+                        }
+                    }
+                }
+                dataKeys.forEach((file, keys) -> {
+                    if (literals.contains(file)) {
+                        Set<String> used = new HashSet<>(keys);
+                        used.retainAll(literals);
+                        if (used.isEmpty()) {
+                            units.add(dataUnit(file, null));
+                        }
+                        used.forEach(key -> units.add(dataUnit(file, key)));
+                    }
+                });
+                String id = ScenarioDurationHistory.idOf(pickle.getUri(), pickle.getLocation().getLine());
+                scenarios.put(id, new ScenarioDependencies(id, signature(pickle), Collections.unmodifiableSet(units)));
+            }
+        }
+        return new DependencyMap(scenarios);
+    }
+
+    /**
+     * Build the map from the source trees on disk
+     * @param features the parsed feature files
+     * @param stepsDir the step definition sources
+     * @param pagesDir the page object sources
+     * @param testDataDir the JSON test data files
+     * @return the map
+     */
+    public static DependencyMap scan(List<Feature> features, Path stepsDir, Path pagesDir, Path testDataDir) {
+        Map<String, Set<String>> dataKeys = new TreeMap<>();
+        readTree(testDataDir, ".json").forEach((name, json) -> dataKeys.put(name + ".json", dataEntries(json).keySet()));
+        return build(features, readTree(stepsDir, ".java"), readTree(pagesDir, ".java"), dataKeys);
+    }
+
+    /**
+     * @return every scenario by id
+     */
+    public Map<String, ScenarioDependencies> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Find the scenarios that depend on any changed unit
+     * @param changedUnits step, page and data units that changed
+     * @return the ids of the impacted scenarios, in feature order
+     */
+    public Set<String> impactedBy(Set<String> changedUnits) {
+        Set<String> impacted = new LinkedHashSet<>();
+        for (ScenarioDependencies scenario : scenarios.values()) {
+            if (!Collections.disjoint(scenario.units(), changedUnits)) {
+                impacted.add(scenario.id());
+            }
+        }
+        return impacted;
+    }
+
+    /**
+     * Find the scenarios that are new or edited compared with an older map.
+     * Scenarios are matched by feature file and signature, so moving a scenario does not count as a change.
+     * @param previous the map built before the edit
+     * @return the ids of the new or edited scenarios in this map
+     */
+    public Set<String> changedSince(DependencyMap previous) {
+        Set<String> known = new HashSet<>();
+        previous.scenarios.values().forEach(scenario -> known.add(fileOf(scenario.id()) + "\n" + scenario.signature()));
+        Set<String> changed = new LinkedHashSet<>();
+        for (ScenarioDependencies scenario : scenarios.values()) {
+            if (!known.contains(fileOf(scenario.id()) + "\n" + scenario.signature())) {
+                changed.add(scenario.id());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param className the class simple name
+     * @param method the method name
+     * @return the unit for a step definition method
+     */
+    public static String stepUnit(String className, String method) {
+        return CoverageRecorder.stepUnit(className, method);
+    }
+
+    /**
+     * @param className the class simple name
+     * @param method the method name
+     * @return the unit for a page object method
+     */
+    public static String pageUnit(String className, String method) {
+        return CoverageRecorder.pageUnit(className, method);
+    }
+
+    /**
+     * @param file the test data file name
+     * @param key a top-level key, or null for the whole file
+     * @return the unit for test data
+     */
+    public static String dataUnit(String file, String key) {
+        return CoverageRecorder.dataUnit(file, key);
+    }
+
+    /**
+     * Split a JSON test data file into its top-level entries
+     * @param json the file content
+     * @return top-level key to its value serialized, empty if the content is not a JSON object
+     */
+    public static Map<String, String> dataEntries(String json) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            if (root != null && root.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    entries.put(field.getKey(), field.getValue().toString());
+                }
+            }
+        } catch (IOException e) {
+            // A half-saved file has no usable keys; the next save will be picked up
+        }
+        return entries;
+    }
+
+    /**
+     * Read every file with an extension under a directory
+     * @param dir the directory, may be missing
+     * @param extension e.g. ".java"
+     * @return file name without the extension to content
+     */
+    static Map<String, String> readTree(Path dir, String extension) {
+        Map<String, String> sources = new TreeMap<>();
+        if (!Files.isDirectory(dir)) {
+            return sources;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (Path file : walk.filter(path -> path.toString().endsWith(extension)).toList()) {
+                String name = file.getFileName().toString();
+                sources.put(name.substring(0, name.length() - extension.length()),
+                        Files.readString(file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read sources in " + dir, e);
+        }
+        return sources;
+    }
+
+    // Records the units for each method name and the names each unit calls
+    private static void parse(String className, String source, boolean page,
+                              Map<String, Set<String>> methods, Map<String, Set<String>> calls) {
+        for (Map.Entry<String, String> method : JavaSourceMethods.parse(source).getMethods().entrySet()) {
+            if (method.getKey().equals(JavaSourceMethods.OUTSIDE_METHODS)) {
+                continue;
+            }
+            String unit = page ? pageUnit(className, method.getKey()) : stepUnit(className, method.getKey());
+            methods.computeIfAbsent(method.getKey(), key -> new HashSet<>()).add(unit);
+            calls.put(unit, JavaSourceMethods.calledNames(method.getValue()));
+        }
+    }
+
+    // Every unit reachable from the start units through calls that resolve to the given methods
+    private static Set<String> closure(Set<String> start, Map<String, Set<String>> calls, Map<String, Set<String>> methods) {
+        Set<String> reached = new LinkedHashSet<>(start);
+        Deque<String> pending = new ArrayDeque<>(start);
+        while (!pending.isEmpty()) {
+            for (String called : calls.getOrDefault(pending.pop(), Set.of())) {
+                for (String unit : methods.getOrDefault(called, Set.of())) {
+                    if (reached.add(unit)) {
+                        pending.push(unit);
+                    }
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static Set<String> argumentTexts(Argument argument) {
+        Set<String> texts = new HashSet<>();
+        if (argument instanceof DataTableArgument table) {
+            table.cells().forEach(texts::addAll);
+        } else if (argument instanceof DocStringArgument docString) {
+            texts.add(docString.getContent());
+        }
+        return texts;
+    }
+
+    private static String signature(Pickle pickle) {
+        StringBuilder signature = new StringBuilder(pickle.getName());
+        signature.append('\n').append(pickle.getTags());
+        for (Step step : pickle.getSteps()) {
+            signature.append('\n').append(step.getText());
+            Argument argument = step.getArgument();
+            if (argument instanceof DataTableArgument table) {
+                signature.append('\n').append(table.cells());
+            } else if (argument instanceof DocStringArgument docString) {
+                signature.append('\n').append(docString.getContent());
+            }
+        }
+        return signature.toString();
+    }
+
+    private static String fileOf(String scenarioId) {
+        return scenarioId.substring(0, scenarioId.lastIndexOf(':'));
+    }
+}
@@ -0,0 +1,147 @@
+package com.playbotlabs.impact;
+
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.resource.Resource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class DependencyMapTest {
+
+    private static final String STEPS = """
+            package com.playbotlabs.steps;
+
+            public class DemoSteps {
+                private DemoPage page;
+
+                @Before
+                public void setUp() {
+                    start();
+                }
+
+                @Given("I open the demo page")
+                public void i_open_the_demo_page() {
+                    page = new DemoPage();
+                    page.open();
+                }
+
+                @When("I fill the name field with {string}")
+                public void i_fill_the_name_field_with(String name) {
+                    page.fillName(name);
+                }
+
+                @When("I fill the form with test data from {string}")
+                public void i_fill_the_form_with_test_data_from(String key) {
+                    String name = TestDataUtils.getTestData("demo-data.json", key + ".name");
+                    i_fill_the_name_field_with(name);
+                }
+
+                @When("I fill the form with any test data")
+                public void i_fill_the_form_with_any_test_data() {
+                    TestDataUtils.readJsonTestData("demo-data.json");
+                }
+            }
+            """;
+
+    private static final String PAGE = """
+            package com.playbotlabs.pages;
+
+            public class DemoPage {
+                public DemoPage() {
+                }
+
+                public void open() {
+                    waitForLoad(); // not fillName()
+                }
+
+                public void fillName(String name) {
+                    type("{", name);
+                }
+
+                private void waitForLoad() {
+                }
+
+                private void type(String locator, String text) {
+                }
+            }
+            """;
+
+    private static final String FEATURE = """
+            Feature: Demo
+
+              Scenario: Open
+                Given I open the demo page
+
+              Scenario: Fill by hand
+                Given I open the demo page
+                When I fill the name field with "Ann"
+
+              Scenario: Fill from data
+                Given I open the demo page
+                When I fill the form with test data from "validData"
+
+              Scenario: Fill from any data
+                When I fill the form with any test data
+            """;
+
+    private static DependencyMap map(String feature) {
+        Feature parsed = new FeatureParser(UUID::randomUUID).parseResource(new Resource() {
+            @Override
+            public URI getUri() {
+                return URI.create("classpath:features/demo.feature");
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(feature.getBytes(StandardCharsets.UTF_8));
+            }
+        }).orElseThrow();
+        return DependencyMap.build(List.of(parsed), Map.of("DemoSteps", STEPS), Map.of("DemoPage", PAGE),
+                Map.of("demo-data.json", Set.of("validData", "invalidData")));
+    }
+
+    @Test
+    public void testScenariosMapToStepsPageMethodsAndDataKeys() {
+        DependencyMap map = map(FEATURE);
+        Set<String> fromData = map.getScenarios().get("features/demo.feature:10").units();
+        Assert.assertTrue(fromData.contains(DependencyMap.stepUnit("DemoSteps", "setUp")), "Hooks apply to every scenario");
+        Assert.assertTrue(fromData.contains(DependencyMap.stepUnit("DemoSteps", "i_fill_the_name_field_with")),
+                "Step methods called from other steps are followed");
+        Assert.assertTrue(fromData.contains(DependencyMap.pageUnit("DemoPage", "waitForLoad")),
+                "Page methods are followed transitively");
+        Assert.assertTrue(fromData.contains(DependencyMap.dataUnit("demo-data.json", "validData")));
+        Assert.assertFalse(fromData.contains(DependencyMap.dataUnit("demo-data.json", "invalidData")));
+
+        Assert.assertEquals(map.impactedBy(Set.of(DependencyMap.pageUnit("DemoPage", "fillName"))),
+                Set.of("features/demo.feature:6", "features/demo.feature:10"));
+        Assert.assertEquals(map.impactedBy(Set.of(DependencyMap.dataUnit("demo-data.json", "invalidData"),
+                DependencyMap.dataUnit("demo-data.json", null))), Set.of("features/demo.feature:14"),
+                "Only scenarios whose keys are unknown depend on the whole file");
+    }
+
+    @Test
+    public void testMovedScenariosAreNotReportedAsChanged() {
+        DependencyMap before = map(FEATURE);
+        DependencyMap after = map(FEATURE.replace("Feature: Demo\n", "Feature: Demo\n\n  # A note\n")
+                .replace("\"Ann\"", "\"Bob\""));
+        Assert.assertEquals(after.changedSince(before), Set.of("features/demo.feature:8"));
+    }
+
+    @Test
+    public void testChangedMethodsIgnoreUntouchedMethods() {
+        String edited = PAGE.replace("type(\"{\", name);", "type(\"{\", name.trim());");
+        Assert.assertEquals(JavaSourceMethods.changedMethods(PAGE, edited), Set.of("fillName"));
+        Assert.assertEquals(JavaSourceMethods.changedMethods(PAGE, PAGE.replace("public class", "class")),
+                Set.of(JavaSourceMethods.OUTSIDE_METHODS));
+        Assert.assertEquals(JavaSourceMethods.parse(PAGE).methodsAtLines(Set.of(12)), Set.of("fillName"));
+    }
+}
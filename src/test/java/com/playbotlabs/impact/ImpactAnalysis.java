@@ -0,0 +1,271 @@
+package com.playbotlabs.impact;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.CoverageRecorder;
+import io.cucumber.core.feature.FeatureIdentifier;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.resource.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Works out which scenarios a change can affect, for runs with -Dimpact.base=&lt;git-ref&gt;.
+ * The diff between the ref and the working tree is reduced to changed scenarios, step and page
+ * methods and test data keys, which are matched against the coverage {@link CoverageRecorder} saved
+ * from earlier runs. Anything it cannot reason about runs: scenarios without recorded coverage,
+ * and every scenario when a file outside the features, test data, pages and steps trees changed
+ * (DriverManager, WaitUtils, ConfigManager, runners, the pom and so on).
+ */
+public final class ImpactAnalysis {
+    private static final List<String> IGNORED_SUFFIXES = List.of(".md", ".gitignore", "LICENSE");
+
+    /**
+     * What changed since the base ref
+     * @param base the git ref compared against
+     * @param fullRunReason why every scenario must run, or null when the change could be narrowed
+     * @param changedUnits step, page and data units whose code or data changed
+     * @param changedScenarios IDs of scenarios that are new or edited in a feature file
+     */
+    public record Impact(String base, String fullRunReason, Set<String> changedUnits, Set<String> changedScenarios) {
+
+        /**
+         * @return true if every scenario must run
+         */
+        public boolean isFullRun() {
+            return fullRunReason != null;
+        }
+
+        static Impact fullRun(String base, String reason) {
+            return new Impact(base, reason, Set.of(), Set.of());
+        }
+    }
+
+    private ImpactAnalysis() {
+    }
+
+    /**
+     * Diff the working tree, including uncommitted and untracked files, against a ref
+     * @param base the git ref, e.g. origin/main
+     * @return the change, or a full run if git fails or a core file changed
+     */
+    public static Impact analyze(String base) {
+        List<String> files;
+        try {
+            files = new ArrayList<>(lines(git(true, "diff", "--name-only", "--no-renames", "--relative", base)));
+            files.addAll(lines(git(true, "ls-files", "--others", "--exclude-standard")));
+        } catch (RuntimeException e) {
+            return Impact.fullRun(base, e.getMessage());
+        }
+        Path features = Paths.get(ConfigManager.getDaemonFeaturePath());
+        Path testData = Paths.get(ConfigManager.getTestDataPath());
+        Path pages = Paths.get(ConfigManager.getPagesSourcePath());
+        Path steps = Paths.get(ConfigManager.getStepsSourcePath());
+        Set<String> ignored = Set.of(ConfigManager.getImpactMapFile(), ConfigManager.getScenarioDurationFile());
+
+        Set<String> units = new HashSet<>();
+        Set<String> scenarios = new LinkedHashSet<>();
+        for (String file : files) {
+            if (ignored.contains(file) || IGNORED_SUFFIXES.stream().anyMatch(file::endsWith)) {
+                continue;
+            }
+            Path path = Paths.get(file);
+            String before = git(false, "show", base + ":./" + file);
+            String after = read(path);
+            String name = path.getFileName().toString();
+            if (name.endsWith(".java") && (path.startsWith(pages) || path.startsWith(steps))) {
+                units.addAll(javaUnits(name.substring(0, name.length() - ".java".length()), path.startsWith(pages),
+                        before, after));
+            } else if (name.endsWith(".json") && path.startsWith(testData)) {
+                units.addAll(dataUnits(name, before, after));
+            } else if (FeatureIdentifier.isFeature(path) && path.startsWith(features)) {
+                scenarios.addAll(changedScenarios(path, before, after));
+            } else {
+                return Impact.fullRun(base, "core file changed: " + file);
+            }
+        }
+        return new Impact(base, null, Collections.unmodifiableSet(units), Collections.unmodifiableSet(scenarios));
+    }
+
+    /**
+     * Pick the scenarios to run
+     * @param impact the change
+     * @param scenarioIds the candidate scenarios
+     * @param coverage recorded coverage by scenario ID
+     * @param staticMap builds the static map, used only for changed methods no recorded scenario reached
+     * @return the scenario IDs to run, in candidate order
+     */
+    public static Set<String> select(Impact impact, Collection<String> scenarioIds, Map<String, Set<String>> coverage,
+                                     Supplier<DependencyMap> staticMap) {
+        if (impact.isFullRun()) {
+            return new LinkedHashSet<>(scenarioIds);
+        }
+        // Methods that never touch the browser are not seen by the recorder, so fall back to the call graph for them
+        Set<String> covered = new HashSet<>();
+        coverage.values().forEach(covered::addAll);
+        Set<String> unobserved = new HashSet<>();
+        for (String unit : impact.changedUnits()) {
+            if (!unit.startsWith("data:") && !covered.contains(unit)) {
+                unobserved.add(unit);
+            }
+        }
+        Set<String> reached = unobserved.isEmpty() ? Set.of() : staticMap.get().impactedBy(unobserved);
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String id : scenarioIds) {
+            Set<String> used = coverage.get(id);
+            if (used == null || impact.changedScenarios().contains(id) || reached.contains(id)
+                    || !Collections.disjoint(used, impact.changedUnits())) {
+                selected.add(id);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Build the static dependency map of the configured source trees
+     * @return the map
+     */
+    public static DependencyMap staticMap() {
+        List<Feature> features = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(Paths.get(ConfigManager.getDaemonFeaturePath()))) {
+            for (Path file : walk.filter(FeatureIdentifier::isFeature).sorted().toList()) {
+                parseFeature(file, Files.readString(file, StandardCharsets.UTF_8)).ifPresent(features::add);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read feature files", e);
+        }
+        return DependencyMap.scan(features, Paths.get(ConfigManager.getStepsSourcePath()),
+                Paths.get(ConfigManager.getPagesSourcePath()), Paths.get(ConfigManager.getTestDataPath()));
+    }
+
+    /**
+     * Units of a page object or step definition source edit
+     * @param className the class simple name
+     * @param page true for a page object, false for step definitions
+     * @param before the previous source, or null for a new file
+     * @param after the current source, or null for a deleted file
+     * @return the changed methods' units; every method's when code outside methods changed
+     */
+    public static Set<String> javaUnits(String className, boolean page, String before, String after) {
+        Set<String> methods = JavaSourceMethods.changedMethods(before, after);
+        // Fields, imports and annotations can change any method's behaviour
+        if (methods.remove(JavaSourceMethods.OUTSIDE_METHODS)) {
+            for (String source : new String[] {before, after}) {
+                if (source != null) {
+                    methods.addAll(JavaSourceMethods.parse(source).getMethods().keySet());
+                }
+            }
+            methods.remove(JavaSourceMethods.OUTSIDE_METHODS);
+        }
+        Set<String> units = new HashSet<>();
+        for (String method : methods) {
+            units.add(page ? DependencyMap.pageUnit(className, method) : DependencyMap.stepUnit(className, method));
+        }
+        return units;
+    }
+
+    /**
+     * Units of a test data file edit
+     * @param fileName the file name
+     * @param before the previous content, or null for a new file
+     * @param after the current content, or null for a deleted file
+     * @return the changed top-level keys' units, plus the whole-file unit
+     */
+    public static Set<String> dataUnits(String fileName, String before, String after) {
+        Map<String, String> old = before == null ? Map.of() : DependencyMap.dataEntries(before);
+        Map<String, String> current = after == null ? Map.of() : DependencyMap.dataEntries(after);
+        Set<String> units = new HashSet<>();
+        units.add(DependencyMap.dataUnit(fileName, null));
+        Set<String> keys = new HashSet<>(old.keySet());
+        keys.addAll(current.keySet());
+        for (String key : keys) {
+            if (!Objects.equals(old.get(key), current.get(key))) {
+                units.add(DependencyMap.dataUnit(fileName, key));
+            }
+        }
+        return units;
+    }
+
+    private static Set<String> changedScenarios(Path file, String before, String after) {
+        if (after == null) {
+            return Set.of();
+        }
+        DependencyMap current = featureMap(file, after);
+        return before == null ? current.getScenarios().keySet() : current.changedSince(featureMap(file, before));
+    }
+
+    private static DependencyMap featureMap(Path file, String content) {
+        return DependencyMap.build(parseFeature(file, content).stream().toList(), Map.of(), Map.of(), Map.of());
+    }
+
+    private static Optional<Feature> parseFeature(Path file, String content) {
+        URI uri = FeatureIdentifier.parse(file.toString());
+        return new FeatureParser(UUID::randomUUID).parseResource(new Resource() {
+            @Override
+            public URI getUri() {
+                return uri;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    // Runs git in the working directory; a failing optional command, e.g. showing a file the ref lacks, returns null
+    private static String git(boolean required, String... arguments) {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(arguments));
+        try {
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            int exit = process.waitFor();
+            if (exit == 0) {
+                return output;
+            }
+            if (required) {
+                throw new RuntimeException(String.join(" ", command) + " exited with " + exit);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to run " + String.join(" ", command), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted running " + String.join(" ", command), e);
+        }
+    }
+
+    private static List<String> lines(String output) {
+        return output.lines().map(String::trim).filter(line -> !line.isEmpty()).toList();
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + file, e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.playbotlabs.impact;
+
+import com.playbotlabs.utils.CoverageRecorder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ImpactAnalysisTest {
+
+    private static final List<String> SCENARIOS = List.of("forms.feature:5", "forms.feature:9", "forms.feature:13",
+            "forms.feature:17");
+
+    private static final Map<String, Set<String>> COVERAGE = Map.of(
+            "forms.feature:5", Set.of("step:FormsForestSteps.i_select_skills", "page:FormsForestPage.selectSkills"),
+            "forms.feature:9", Set.of("step:FormsForestSteps.i_fill_the_form_with_valid_test_data",
+                    "data:forms-forest-data.json#validData"),
+            "forms.feature:13", Set.of("step:FormsForestSteps.i_submit_the_form", "page:FormsForestPage.submitForm"));
+
+    private static Set<String> select(ImpactAnalysis.Impact impact) {
+        return ImpactAnalysis.select(impact, SCENARIOS, COVERAGE, () -> {
+            throw new AssertionError("The static map is only needed for changes no recorded scenario reached");
+        });
+    }
+
+    @Test
+    public void testOnlyCoveredAndUnmappedScenariosRun() {
+        ImpactAnalysis.Impact pageChange = new ImpactAnalysis.Impact("main", null,
+                Set.of("page:FormsForestPage.selectSkills"), Set.of());
+        Assert.assertEquals(select(pageChange), Set.of("forms.feature:5", "forms.feature:17"),
+                "The scenario using the method and the unmapped scenario should run");
+
+        ImpactAnalysis.Impact dataChange = new ImpactAnalysis.Impact("main", null,
+                ImpactAnalysis.dataUnits("forms-forest-data.json", "{\"validData\": {\"a\": 1}, \"other\": {}}",
+                        "{\"validData\": {\"a\": 2}, \"other\": {}}"), Set.of());
+        Assert.assertEquals(select(dataChange), Set.of("forms.feature:9", "forms.feature:17"));
+
+        ImpactAnalysis.Impact featureChange = new ImpactAnalysis.Impact("main", null, Set.of(), Set.of("forms.feature:13"));
+        Assert.assertEquals(select(featureChange), Set.of("forms.feature:13", "forms.feature:17"));
+
+        ImpactAnalysis.Impact coreChange = ImpactAnalysis.Impact.fullRun("main", "core file changed: DriverManager.java");
+        Assert.assertEquals(select(coreChange).size(), SCENARIOS.size());
+    }
+
+    @Test
+    public void testChangesNoScenarioRecordedFallBackToTheStaticMap() {
+        DependencyMap staticMap = DependencyMap.build(List.of(), Map.of(), Map.of(), Map.of());
+        ImpactAnalysis.Impact helperChange = new ImpactAnalysis.Impact("main", null,
+                Set.of("page:FormStateSnapshot.field"), Set.of());
+        Assert.assertEquals(ImpactAnalysis.select(helperChange, SCENARIOS, COVERAGE, () -> staticMap),
+                Set.of("forms.feature:17"));
+    }
+
+    @Test
+    public void testGlueLocationsBecomeStepUnits() {
+        Assert.assertEquals(CoverageRecorderPlugin.unitOf("com.playbotlabs.steps.FormsForestSteps.i_fill_the_form_with(java.lang.String,java.lang.String)"),
+                "step:FormsForestSteps.i_fill_the_form_with");
+        Assert.assertEquals(CoverageRecorderPlugin.unitOf("com.playbotlabs.steps.BaseSteps.setUp()"), "step:BaseSteps.setUp");
+        Assert.assertNull(CoverageRecorderPlugin.unitOf(null));
+    }
+
+    @Test
+    public void testRecordingKeepsTopLevelDataKeysPerThread() {
+        CoverageRecorder.start("impact-test.feature:1");
+        Set<String> units;
+        try {
+            CoverageRecorder.recordData("forms-forest-data.json", "validDataFemale.username");
+            CoverageRecorder.recordData("forms-forest-data.json", "invalidEmailFormat");
+            CoverageRecorder.recordData("sample-data.json", null);
+            CoverageRecorder.record(DependencyMap.pageUnit("FormsForestPage", "selectSkills"));
+        } finally {
+            units = CoverageRecorder.finish(false);
+        }
+        Assert.assertEquals(units, Set.of("data:forms-forest-data.json#validDataFemale",
+                "data:forms-forest-data.json#invalidEmailFormat", "data:sample-data.json",
+                "page:FormsForestPage.selectSkills"));
+        CoverageRecorder.recordData("forms-forest-data.json", "validData");
+        Assert.assertEquals(CoverageRecorder.finish(true), Set.of(), "Nothing is recorded outside a scenario");
+    }
+}
@@ -0,0 +1,232 @@
+package com.playbotlabs.impact;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lightweight view of the methods of one Java source file, enough to tell which methods an edit
+ * touched and which methods and string literals a method body uses. Comments and literals are
+ * masked before matching braces, so they cannot unbalance a body. Overloads share one entry,
+ * and everything outside method bodies (imports, fields, annotations) is kept under {@link #OUTSIDE_METHODS}.
+ */
+public final class JavaSourceMethods {
+    public static final String OUTSIDE_METHODS = "";
+
+    private static final Pattern METHOD_HEADER = Pattern.compile(
+            "(\\w+)\\s*\\([^;{}()]*(?:\\([^;{}()]*\\)[^;{}()]*)*\\)\\s*(?:throws\\s+[\\w.,\\s]+)?\\{");
+    private static final Pattern CALL = Pattern.compile("\\b(\\w+)\\s*\\(");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\\\n]|\\\\.)*)\"");
+    private static final Set<String> NOT_METHODS = Set.of("if", "for", "while", "switch", "catch", "synchronized",
+            "return", "new", "try", "else", "do", "super", "this");
+
+    private final String source;
+    private final Map<String, String> methods = new LinkedHashMap<>();
+    private final Map<String, int[]> ranges = new LinkedHashMap<>();
+
+    private JavaSourceMethods(String source) {
+        this.source = source;
+        String masked = mask(source);
+        int depth = 0;
+        StringBuilder outside = new StringBuilder();
+        int copiedUpTo = 0;
+        for (int i = 0; i < masked.length(); i++) {
+            char c = masked.charAt(i);
+            if (c == '{') {
+                if (depth == 1) {
+                    Matcher header = methodHeaderEndingAt(masked, i);
+                    if (header != null && !NOT_METHODS.contains(header.group(1))) {
+                        int start = declarationStart(masked, header.start());
+                        int end = matchingBrace(masked, i);
+                        String name = header.group(1);
+                        outside.append(source, copiedUpTo, start);
+                        methods.merge(name, source.substring(start, end + 1), (a, b) -> a + "\n" + b);
+                        ranges.merge(name, new int[] {lineOf(start), lineOf(end)},
+                                (a, b) -> new int[] {Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+                        copiedUpTo = end + 1;
+                        i = end;
+                        continue;
+                    }
+                }
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            }
+        }
+        outside.append(source.substring(Math.min(copiedUpTo, source.length())));
+        methods.put(OUTSIDE_METHODS, outside.toString().replaceAll("\\s+", " ").trim());
+    }
+
+    /**
+     * Split a source file into its methods
+     * @param source the Java source text
+     * @return the parsed view
+     */
+    public static JavaSourceMethods parse(String source) {
+        return new JavaSourceMethods(source);
+    }
+
+    /**
+     * @return method name to declaration text, plus {@link #OUTSIDE_METHODS}
+     */
+    public Map<String, String> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Find the methods an edit touched
+     * @param before the previous source, or null for a new file
+     * @param after the current source, or null for a deleted file
+     * @return names of added, removed or changed methods, with {@link #OUTSIDE_METHODS} if anything else changed
+     */
+    public static Set<String> changedMethods(String before, String after) {
+        Map<String, String> old = before == null ? Map.of() : parse(before).getMethods();
+        Map<String, String> current = after == null ? Map.of() : parse(after).getMethods();
+        Set<String> changed = new HashSet<>();
+        Set<String> names = new HashSet<>(old.keySet());
+        names.addAll(current.keySet());
+        for (String name : names) {
+            if (!Objects.equals(old.get(name), current.get(name))) {
+                changed.add(name);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Find the methods covering some lines of the current source
+     * @param lines 1-based line numbers, e.g. from a diff hunk
+     * @return the touched method names, with {@link #OUTSIDE_METHODS} for lines outside any method
+     */
+    public Set<String> methodsAtLines(Set<Integer> lines) {
+        Set<String> touched = new HashSet<>();
+        for (int line : lines) {
+            String owner = OUTSIDE_METHODS;
+            for (Map.Entry<String, int[]> range : ranges.entrySet()) {
+                if (line >= range.getValue()[0] && line <= range.getValue()[1]) {
+                    owner = range.getKey();
+                    break;
+                }
+            }
+            touched.add(owner);
+        }
+        return touched;
+    }
+
+    /**
+     * Names of the methods a piece of code calls
+     * @param code a method body
+     * @return called method names, without control-flow keywords
+     */
+    public static Set<String> calledNames(String code) {
+        Set<String> names = new HashSet<>();
+        Matcher call = CALL.matcher(mask(code));
+        while (call.find()) {
+            if (!NOT_METHODS.contains(call.group(1))) {
+                names.add(call.group(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * String literals in a piece of code
+     * @param code a method body
+     * @return the literal values, unescaped for simple escapes only
+     */
+    public static Set<String> stringLiterals(String code) {
+        Set<String> literals = new HashSet<>();
+        Matcher literal = STRING_LITERAL.matcher(code);
+        while (literal.find()) {
+            literals.add(literal.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+        }
+        return literals;
+    }
+
+    private Matcher methodHeaderEndingAt(String masked, int brace) {
+        int from = Math.max(0, Math.max(masked.lastIndexOf(';', brace), Math.max(masked.lastIndexOf('}', brace),
+                masked.lastIndexOf('{', brace - 1))) + 1);
+        Matcher header = METHOD_HEADER.matcher(masked).region(from, brace + 1);
+        Matcher last = null;
+        while (header.find()) {
+            if (header.end() == brace + 1) {
+                last = header;
+                break;
+            }
+        }
+        return last;
+    }
+
+    // Annotations and modifiers belong to the declaration; start after the previous member
+    private static int declarationStart(String masked, int nameStart) {
+        int previous = Math.max(masked.lastIndexOf(';', nameStart), Math.max(masked.lastIndexOf('}', nameStart),
+                masked.lastIndexOf('{', nameStart)));
+        int start = previous + 1;
+        while (start < nameStart && Character.isWhitespace(masked.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int matchingBrace(String masked, int open) {
+        int depth = 0;
+        for (int i = open; i < masked.length(); i++) {
+            if (masked.charAt(i) == '{') {
+                depth++;
+            } else if (masked.charAt(i) == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return masked.length() - 1;
+    }
+
+    private int lineOf(int offset) {
+        int line = 1;
+        for (int i = 0; i < offset && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    // Blank out comments, string, text block and char literals, keeping offsets and line breaks
+    static String mask(String source) {
+        StringBuilder masked = new StringBuilder(source);
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int end;
+            if (source.startsWith("//", i)) {
+                end = source.indexOf('\n', i);
+                end = end < 0 ? source.length() : end;
+            } else if (source.startsWith("/*", i)) {
+                end = source.indexOf("*/", i + 2);
+                end = end < 0 ? source.length() : end + 2;
+            } else if (source.startsWith("\"\"\"", i)) {
+                end = source.indexOf("\"\"\"", i + 3);
+                end = end < 0 ? source.length() : end + 3;
+            } else if (c == '"' || c == '\'') {
+                end = i + 1;
+                while (end < source.length() && source.charAt(end) != c && source.charAt(end) != '\n') {
+                    end += source.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end + 1, source.length());
+            } else {
+                i++;
+                continue;
+            }
+            for (int j = i; j < end; j++) {
+                if (masked.charAt(j) != '\n') {
+                    masked.setCharAt(j, ' ');
+                }
+            }
+            i = end;
+        }
+        return masked.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.playbotlabs.pages;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit test class for the form state snapshot
+ * Builds snapshots from script results without requiring browser interaction
+ */
+public class FormStateSnapshotTest {
+
+    private final FormStateSnapshot snapshot = FormStateSnapshot.fromScriptResult(Map.of(
+            "fields", List.of(
+                    field("username", "input", "text", "user1", true, Map.of("aria-label", "Username")),
+                    field("email", "input", "email", "", false, Map.of()),
+                    field("gender", "input", "radio", "male", false, Map.of()),
+                    field("gender", "input", "radio", "female", true, Map.of()),
+                    field("button:submit", "button", "submit", "", true, Map.of())),
+            "messages", Map.of(".error-message", List.of("Invalid email"), ".success-message", List.of())));
+
+    @Test(description = "Test that field state is read from the snapshot")
+    public void testFieldState() {
+        Assert.assertEquals(snapshot.getValue("username"), "user1", "Username value should be captured");
+        Assert.assertEquals(snapshot.field("username").aria("aria-label"), "Username",
+            "Aria attributes should be captured");
+        Assert.assertTrue(snapshot.field("email").required(), "Email should be required");
+        Assert.assertTrue(snapshot.isEnabled("button:submit"), "Unnamed buttons should be keyed by type");
+        Assert.assertNull(snapshot.field("missing"), "Unknown fields should be null");
+        Assert.assertFalse(snapshot.isEnabled("missing"), "Unknown fields should not be enabled");
+    }
+
+    @Test(description = "Test that groups and messages are read from the snapshot")
+    public void testGroupsAndMessages() {
+        Assert.assertEquals(snapshot.fields("gender").size(), 2, "Both radio options should be captured");
+        Assert.assertEquals(snapshot.getCheckedValues("gender"), List.of("female"),
+            "Only the checked option should be reported");
+        Assert.assertTrue(snapshot.isVisible(".error-message"), "Error message should be visible");
+        Assert.assertFalse(snapshot.isVisible(".success-message"), "Success message should not be visible");
+    }
+
+    private static Map<String, Object> field(String key, String tag, String type, String value,
+                                             boolean checked, Map<String, String> aria) {
+        return Map.of("key", key, "tag", tag, "type", type, "id", "", "value", value,
+                "enabled", true, "displayed", true, "required", "email".equals(key),
+                "checked", checked, "aria", aria);
+    }
+}
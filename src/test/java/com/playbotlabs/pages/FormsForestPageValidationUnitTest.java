@@ -118,6 +118,18 @@ public class FormsForestPageValidationUnitTest {
             "getValidationErrors method should exist");
     }
 
+    @Test(description = "Test that negative checks use dedicated absence methods")
+    public void testAbsenceCheckMethodsExist() {
+        Class<FormsForestPage> pageClass = FormsForestPage.class;
+
+        Assert.assertEquals(getMethod(pageClass, "isSuccessMessageAbsent").getReturnType(), boolean.class,
+            "isSuccessMessageAbsent should return boolean");
+        Assert.assertEquals(getMethod(pageClass, "isErrorMessageAbsent").getReturnType(), boolean.class,
+            "isErrorMessageAbsent should return boolean");
+        Assert.assertEquals(getMethod(pageClass, "hasNoValidationErrors").getReturnType(), boolean.class,
+            "hasNoValidationErrors should return boolean");
+    }
+
     /**
      * Helper method to get a method by name and parameter types
      * @param clazz the class to search in
@@ -0,0 +1,99 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.config.ConfigScope;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base runner that runs every Cucumber scenario once per browser.matrix cell in a single JVM
+ * Features are parsed once, and each cell's settings are applied to its scenario thread
+ * through a ConfigManager scope, so DriverManager and WaitUtils pick them up
+ */
+public abstract class AbstractBrowserMatrixCucumberTests {
+
+    private TestNGCucumberRunner testNGCucumberRunner;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass(), context.getCurrentXmlTest()::getParameter);
+    }
+
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios for each browser matrix cell",
+            dataProvider = "matrix")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper, String cell) {
+        ConfigScope scope = ConfigManager.override(cellOverrides(cell));
+        try {
+            testNGCucumberRunner.runScenario(pickleWrapper.getPickle());
+        } finally {
+            scope.close();
+        }
+    }
+
+    @DataProvider(parallel = true)
+    public Object[][] matrix() {
+        if (testNGCucumberRunner == null) {
+            return new Object[0][0];
+        }
+        List<String> cells = matrixCells();
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] scenario : ScenarioScheduler.schedule(testNGCucumberRunner.provideScenarios())) {
+            for (String cell : cells) {
+                rows.add(new Object[] {scenario[0], scenario[1], cell});
+            }
+        }
+        return rows.toArray(new Object[0][]);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (testNGCucumberRunner == null) {
+            return;
+        }
+        testNGCucumberRunner.finish();
+    }
+
+    /**
+     * Get the configured matrix cells, or the configured browser when no matrix is set
+     * @return cells such as "chrome" or "firefox:headed"
+     */
+    static List<String> matrixCells() {
+        List<String> cells = new ArrayList<>();
+        for (String cell : ConfigManager.getBrowserMatrix().split(",")) {
+            if (!cell.isBlank()) {
+                cells.add(cell.trim());
+            }
+        }
+        return cells.isEmpty() ? List.of(ConfigManager.getBrowser()) : cells;
+    }
+
+    /**
+     * Turn a matrix cell into setting overrides
+     * @param cell a browser name with an optional ":headless" or ":headed" suffix
+     * @return the overrides for that cell
+     */
+    static Map<String, String> cellOverrides(String cell) {
+        Map<String, String> overrides = new HashMap<>();
+        String[] parts = cell.split(":", 2);
+        overrides.put("browser", parts[0].trim());
+        if (parts.length > 1) {
+            String mode = parts[1].trim();
+            if (!"headless".equalsIgnoreCase(mode) && !"headed".equalsIgnoreCase(mode)) {
+                throw new IllegalArgumentException("Unknown browser matrix mode '" + mode + "' in " + cell);
+            }
+            overrides.put("headless", String.valueOf("headless".equalsIgnoreCase(mode)));
+        }
+        return overrides;
+    }
+}
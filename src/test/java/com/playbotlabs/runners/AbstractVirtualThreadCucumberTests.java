@@ -0,0 +1,68 @@
+package com.playbotlabs.runners;
+
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Base runner that schedules every Cucumber scenario on its own virtual thread
+ * The number of live browsers is capped by DriverManager's session permits
+ * (browser.max.sessions), not by the number of worker threads
+ */
+public abstract class AbstractVirtualThreadCucumberTests {
+
+    private TestNGCucumberRunner testNGCucumberRunner;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass(), context.getCurrentXmlTest()::getParameter);
+    }
+
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios on virtual threads")
+    public void runScenarios() throws InterruptedException {
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Object[] scenario : ScenarioScheduler.schedule(testNGCucumberRunner.provideScenarios())) {
+                PickleWrapper pickleWrapper = (PickleWrapper) scenario[0];
+                results.add(executor.submit(() -> testNGCucumberRunner.runScenario(pickleWrapper.getPickle())));
+            }
+        }
+
+        AssertionError failures = null;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SkipException) {
+                    continue;
+                }
+                if (failures == null) {
+                    failures = new AssertionError("One or more scenarios failed");
+                }
+                failures.addSuppressed(e.getCause());
+            }
+        }
+        if (failures != null) {
+            throw failures;
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (testNGCucumberRunner == null) {
+            return;
+        }
+        testNGCucumberRunner.finish();
+    }
+}
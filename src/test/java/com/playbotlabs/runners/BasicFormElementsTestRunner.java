@@ -29,6 +29,6 @@ public class BasicFormElementsTestRunner extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        return ScenarioScheduler.schedule(super.scenarios());
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import io.cucumber.testng.CucumberOptions;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans the results of a consolidated run out to the category runners' JUnit reports.
+ * Each category is read from a runner's @CucumberOptions: its tag expression selects the scenarios
+ * and its "junit:" plugin path is where the category report is written, so a scenario that belongs
+ * to several categories runs once but is reported in each of them. Sharded runs add the shard to
+ * the file name (Cucumber-shard-0-of-4.xml) so the agents' reports can be collected side by side.
+ */
+public class CategoryReportPlugin implements ConcurrentEventListener {
+
+    static final List<Class<?>> CATEGORY_RUNNERS = List.of(
+            FormsForestSmokeTestRunner.class,
+            FormsForestRegressionTestRunner.class,
+            FormsForestBasicTestRunner.class,
+            FormsForestAdvancedTestRunner.class,
+            FormsForestFileUploadTestRunner.class,
+            FormsForestMultiStepTestRunner.class);
+
+    private final List<Category> categories;
+    // Keyed by test case ID, so a retried scenario is reported with its last result
+    private final Map<UUID, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    public CategoryReportPlugin() {
+        this.categories = CATEGORY_RUNNERS.stream().map(Category::of).toList();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReports());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        String uri = event.getTestCase().getUri().toString();
+        outcomes.put(event.getTestCase().getId(), new Outcome(
+                uri.substring(uri.lastIndexOf('/') + 1),
+                event.getTestCase().getName(),
+                event.getTestCase().getLocation().getLine(),
+                event.getTestCase().getTags(),
+                event.getResult().getStatus(),
+                event.getResult().getDuration(),
+                event.getResult().getError()));
+    }
+
+    private void writeReports() {
+        List<Outcome> all = outcomes.values().stream()
+                .sorted((a, b) -> a.feature().equals(b.feature())
+                        ? Integer.compare(a.line(), b.line()) : a.feature().compareTo(b.feature()))
+                .toList();
+        for (Category category : categories) {
+            List<Outcome> selected = all.stream().filter(outcome -> category.tags().evaluate(outcome.tags())).toList();
+            File report = shardReport(category.report());
+            try {
+                writeReport(report, category.name(), selected);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write the " + category.name() + " report to " + report, e);
+            }
+        }
+    }
+
+    static File shardReport(File report) {
+        int count = ConfigManager.getShardCount();
+        if (count <= 1) {
+            return report;
+        }
+        String name = report.getName();
+        int dot = name.lastIndexOf('.');
+        String suffix = "-shard-" + ConfigManager.getShardIndex() + "-of-" + count;
+        String sharded = dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot);
+        return new File(report.getParentFile(), sharded);
+    }
+
+    /**
+     * Write a JUnit XML report
+     * @param report the file to write
+     * @param suiteName the test suite name
+     * @param outcomes the scenario results to include
+     */
+    static void writeReport(File report, String suiteName, List<Outcome> outcomes) throws IOException {
+        Files.createDirectories(report.getAbsoluteFile().getParentFile().toPath());
+        long failures = outcomes.stream().filter(Outcome::failed).count();
+        long skipped = outcomes.stream().filter(outcome -> outcome.status() == Status.SKIPPED).count();
+        Duration total = outcomes.stream().map(Outcome::duration).reduce(Duration.ZERO, Duration::plus);
+        try (OutputStream out = new FileOutputStream(report)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", suiteName);
+            xml.writeAttribute("tests", String.valueOf(outcomes.size()));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("time", seconds(total));
+            for (Outcome outcome : outcomes) {
+                xml.writeStartElement("testcase");
+                xml.writeAttribute("classname", outcome.feature());
+                xml.writeAttribute("name", outcome.name());
+                xml.writeAttribute("time", seconds(outcome.duration()));
+                if (outcome.failed()) {
+                    xml.writeStartElement("failure");
+                    xml.writeAttribute("type", outcome.status().name().toLowerCase(Locale.ROOT));
+                    xml.writeAttribute("message", outcome.error() == null
+                            ? "Scenario is " + outcome.status().name().toLowerCase(Locale.ROOT)
+                            : String.valueOf(outcome.error().getMessage()));
+                    if (outcome.error() != null) {
+                        StringWriter trace = new StringWriter();
+                        outcome.error().printStackTrace(new PrintWriter(trace));
+                        xml.writeCData(trace.toString().replace("]]>", "]]]]><![CDATA[>"));
+                    }
+                    xml.writeEndElement();
+                } else if (outcome.status() == Status.SKIPPED) {
+                    xml.writeEmptyElement("skipped");
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write " + report, e);
+        }
+    }
+
+    private static String seconds(Duration duration) {
+        return String.format(Locale.ROOT, "%.3f", duration.toMillis() / 1000.0);
+    }
+
+    /**
+     * A report category taken from a category runner's @CucumberOptions
+     * @param name the runner's simple name
+     * @param tags the runner's tag expression
+     * @param report the runner's JUnit report file
+     */
+    record Category(String name, Expression tags, File report) {
+
+        static Category of(Class<?> runner) {
+            CucumberOptions options = runner.getAnnotation(CucumberOptions.class);
+            File report = Arrays.stream(options.plugin())
+                    .filter(plugin -> plugin.startsWith("junit:"))
+                    .map(plugin -> new File(plugin.substring("junit:".length())))
+                    .findFirst()
+                    .orElse(new File("target/cucumber-reports/" + runner.getSimpleName() + ".xml"));
+            return new Category(runner.getSimpleName(), TagExpressionParser.parse(options.tags()), report);
+        }
+    }
+
+    /**
+     * The result of one scenario
+     */
+    record Outcome(String feature, String name, int line, List<String> tags, Status status, Duration duration,
+                   Throwable error) {
+
+        Outcome {
+            tags = new ArrayList<>(tags);
+        }
+
+        boolean failed() {
+            return !status.isOk();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.playbotlabs.runners;
+
+import io.cucumber.plugin.event.Status;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+public class CategoryReportPluginTest {
+
+    @Test
+    public void testCategoriesComeFromTheCategoryRunners() {
+        CategoryReportPlugin.Category smoke = CategoryReportPlugin.Category.of(FormsForestSmokeTestRunner.class);
+        Assert.assertEquals(smoke.report().getPath().replace('\\', '/'),
+                "target/cucumber-reports/forms-forest-smoke/xml/Cucumber.xml");
+        Assert.assertTrue(smoke.tags().evaluate(List.of("@forms-forest", "@smoke", "@regression")));
+        Assert.assertFalse(smoke.tags().evaluate(List.of("@forms-forest", "@regression")));
+    }
+
+    @Test
+    public void testEveryCategoryScenarioIsInTheConsolidatedRun() {
+        CategoryReportPlugin.Category consolidated = CategoryReportPlugin.Category.of(FormsForestConsolidatedTestRunner.class);
+        for (String tag : List.of("@smoke", "@regression", "@basic-forms", "@advanced-controls", "@file-upload", "@multi-step")) {
+            List<String> tags = List.of("@forms-forest", tag);
+            for (Class<?> runner : CategoryReportPlugin.CATEGORY_RUNNERS) {
+                if (CategoryReportPlugin.Category.of(runner).tags().evaluate(tags)) {
+                    Assert.assertTrue(consolidated.tags().evaluate(tags), tag + " is selected by " + runner.getSimpleName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReportCountsFailuresAndSkips() throws Exception {
+        File report = Files.createTempFile("category-report", ".xml").toFile();
+        CategoryReportPlugin.writeReport(report, "Smoke", List.of(
+                new CategoryReportPlugin.Outcome("forms-forest.feature", "passes", 5, List.of(), Status.PASSED,
+                        Duration.ofMillis(1500), null),
+                new CategoryReportPlugin.Outcome("forms-forest.feature", "fails <b>", 9, List.of(), Status.FAILED,
+                        Duration.ofMillis(500), new AssertionError("expected ]]> to match")),
+                new CategoryReportPlugin.Outcome("forms-forest.feature", "skips", 12, List.of(), Status.SKIPPED,
+                        Duration.ZERO, null)));
+        String xml = Files.readString(report.toPath());
+        Assert.assertTrue(xml.contains("tests=\"3\" failures=\"1\" skipped=\"1\""), xml);
+        Assert.assertTrue(xml.contains("time=\"2.000\""), xml);
+        Assert.assertTrue(xml.contains("fails &lt;b&gt;"), xml);
+    }
+}
@@ -24,6 +24,6 @@ public class FormsForestAdvancedTestRunner extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        return ScenarioScheduler.schedule(super.scenarios());
     }
 }
\ No newline at end of file
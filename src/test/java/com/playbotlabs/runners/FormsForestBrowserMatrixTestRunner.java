@@ -0,0 +1,21 @@
+package com.playbotlabs.runners;
+
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.Test;
+
+@CucumberOptions(
+        features = "src/test/resources/features/forms-forest.feature",
+        glue = {"com.playbotlabs.steps"},
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/forms-forest-matrix/html-report",
+                "json:target/cucumber-reports/forms-forest-matrix/json/Cucumber.json",
+                "junit:target/cucumber-reports/forms-forest-matrix/xml/Cucumber.xml",
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+        },
+        monochrome = true,
+        tags = "@forms-forest"
+)
+@Test(groups = {"forms-forest"})
+public class FormsForestBrowserMatrixTestRunner extends AbstractBrowserMatrixCucumberTests {
+}
@@ -0,0 +1,34 @@
+package com.playbotlabs.runners;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the union of the Forms Forest category runners in one pass: the feature is parsed once,
+ * each scenario runs once, and CategoryReportPlugin writes every category's JUnit report
+ */
+@CucumberOptions(
+        features = "src/test/resources/features/forms-forest.feature",
+        glue = {"com.playbotlabs.steps"},
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/forms-forest-consolidated/html-report",
+                "json:target/cucumber-reports/forms-forest-consolidated/json/Cucumber.json",
+                "junit:target/cucumber-reports/forms-forest-consolidated/xml/Cucumber.xml",
+                "com.playbotlabs.runners.CategoryReportPlugin",
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+        },
+        monochrome = true,
+        tags = "@forms-forest and (@smoke or @regression or @basic-forms or @advanced-controls or @file-upload or @multi-step)"
+)
+@Test(groups = {"forms-forest"})
+public class FormsForestConsolidatedTestRunner extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return ScenarioScheduler.schedule(super.scenarios());
+    }
+}
@@ -0,0 +1,59 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.impact.ImpactAnalysis;
+import com.playbotlabs.utils.CoverageRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Narrows the scenario plan to the scenarios a change can affect when -Dimpact.base=&lt;git-ref&gt; is set.
+ * The selection is made before sharding, so every agent shards the same narrowed plan.
+ */
+public final class ImpactSelection {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactSelection.class);
+
+    // Several runners can plan in one JVM; diff against each base once
+    private static final Map<String, ImpactAnalysis.Impact> impacts = new ConcurrentHashMap<>();
+
+    private ImpactSelection() {
+    }
+
+    /**
+     * Keep the data provider rows impacted by the diff against impact.base
+     * @param scenarios rows whose first element is a PickleWrapper, as returned by a Cucumber data provider
+     * @return the impacted rows, or the input when impact.base is not set
+     */
+    public static Object[][] select(Object[][] scenarios) {
+        String base = ConfigManager.getImpactBase();
+        if (base.isBlank()) {
+            return scenarios;
+        }
+        ImpactAnalysis.Impact impact = impacts.computeIfAbsent(base, ImpactAnalysis::analyze);
+        List<String> ids = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            ids.add(ScenarioScheduler.scenarioId(row));
+        }
+        Set<String> selected = ImpactAnalysis.select(impact, ids, CoverageRecorder.readMap(), ImpactAnalysis::staticMap);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < scenarios.length; i++) {
+            if (selected.contains(ids.get(i))) {
+                rows.add(scenarios[i]);
+            }
+        }
+        if (impact.isFullRun()) {
+            logger.info("Impact analysis against {} runs all {} scenarios: {}", base, scenarios.length,
+                    impact.fullRunReason());
+        } else {
+            logger.info("Impact analysis against {} runs {} of {} scenarios ({} changed units, {} changed scenarios)",
+                    base, rows.size(), scenarios.length, impact.changedUnits().size(), impact.changedScenarios().size());
+        }
+        return rows.toArray(new Object[0][]);
+    }
+}
@@ -0,0 +1,135 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Orders scenarios longest-processing-time first for parallel runners.
+ * Parallel data providers hand rows to workers in array order, so starting the scenarios that took
+ * longest in earlier runs first keeps one long scenario from finishing alone at the end of the run.
+ * Scenarios without history go first, since their cost is unknown.
+ */
+public final class ScenarioScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+
+    private ScenarioScheduler() {
+    }
+
+    /**
+     * Build this run's plan: keep the rows impacted by the change under test and assigned to this shard,
+     * then order them longest first
+     * @param scenarios rows whose first element is a PickleWrapper, as returned by a Cucumber data provider
+     * @return the rows to run, in the order to start them
+     */
+    public static Object[][] schedule(Object[][] scenarios) {
+        return longestFirst(ScenarioSharding.select(ImpactSelection.select(scenarios)));
+    }
+
+    /**
+     * Reorder data provider rows, longest expected scenario first
+     * @param scenarios rows whose first element is a PickleWrapper, as returned by a Cucumber data provider
+     * @return the reordered rows, or the input when longest-first scheduling is off
+     */
+    public static Object[][] longestFirst(Object[][] scenarios) {
+        if (!ConfigManager.isLongestFirstScheduleEnabled() || scenarios.length < 2) {
+            return scenarios;
+        }
+        List<Long> known = knownMillis(Stream.of(scenarios).map(ScenarioScheduler::scenarioId).toList());
+        List<Long> estimates = estimateMillis(known);
+        List<Integer> order = longestFirstOrder(known);
+
+        Object[][] scheduled = new Object[scenarios.length][];
+        List<Long> scheduledEstimates = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            scheduled[i] = scenarios[order.get(i)];
+            scheduledEstimates.add(estimates.get(order.get(i)));
+        }
+        int workers = Math.max(1, ConfigManager.getParallelThreads());
+        long total = scheduledEstimates.stream().mapToLong(Long::longValue).sum();
+        logger.info("Scheduled {} scenarios longest first on {} workers: predicted makespan {}ms, ideal {}ms",
+                scheduled.length, workers, makespan(scheduledEstimates, workers), total / workers);
+        return scheduled;
+    }
+
+    /**
+     * Get the stable ID of a data provider row's scenario
+     * @param row a Cucumber data provider row
+     * @return the scenario ID used by ScenarioDurationHistory
+     */
+    static String scenarioId(Object[] row) {
+        Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+        return ScenarioDurationHistory.idOf(pickle.getUri(), pickle.getLine());
+    }
+
+    /**
+     * Look up the recorded duration of each scenario
+     * @param ids scenario IDs
+     * @return one duration in milliseconds per ID, negative when there is no history
+     */
+    static List<Long> knownMillis(List<String> ids) {
+        return ids.stream().map(ScenarioDurationHistory::getMillis).toList();
+    }
+
+    /**
+     * Start order for scenarios with the given history: unknown scenarios first in file order,
+     * then known ones longest first, keeping file order between equal durations
+     * @param knownMillis recorded duration per scenario, negative when there is no history
+     * @return indexes into knownMillis, in the order to start them
+     */
+    static List<Integer> longestFirstOrder(List<Long> knownMillis) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < knownMillis.size(); i++) {
+            order.add(i);
+        }
+        // The sort is stable, so ties keep file order
+        order.sort(Comparator.comparing((Integer i) -> knownMillis.get(i) >= 0)
+                .thenComparing(i -> -knownMillis.get(i)));
+        return order;
+    }
+
+    /**
+     * Expected durations, using the mean of the known scenarios in the plan for those without history
+     * @param knownMillis recorded duration per scenario, negative when there is no history
+     * @return one estimate in milliseconds per scenario
+     */
+    static List<Long> estimateMillis(List<Long> knownMillis) {
+        long sum = 0;
+        int count = 0;
+        for (long millis : knownMillis) {
+            if (millis >= 0) {
+                sum += millis;
+                count++;
+            }
+        }
+        long fallback = count > 0 ? sum / count : ConfigManager.getScenarioDurationEstimateMillis();
+        List<Long> estimates = new ArrayList<>(knownMillis);
+        estimates.replaceAll(millis -> millis >= 0 ? millis : fallback);
+        return estimates;
+    }
+
+    // Greedy list scheduling, as a pool of workers taking the next row when they become free
+    static long makespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            loads.add(0L);
+        }
+        for (long duration : durations) {
+            loads.add(loads.poll() + duration);
+        }
+        long makespan = 0;
+        for (long load : loads) {
+            makespan = Math.max(makespan, load);
+        }
+        return makespan;
+    }
+}
@@ -0,0 +1,46 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class ScenarioSchedulerTest {
+
+    @Test
+    public void testLongestFirstShortensMakespan() {
+        List<Long> fileOrder = List.of(10L, 10L, 10L, 10L, 10L, 10L, 60L);
+        List<Integer> order = ScenarioScheduler.longestFirstOrder(fileOrder);
+        Assert.assertEquals(order, List.of(6, 0, 1, 2, 3, 4, 5));
+        List<Long> scheduled = order.stream().map(fileOrder::get).toList();
+        Assert.assertEquals(ScenarioScheduler.makespan(fileOrder, 2), 90);
+        Assert.assertEquals(ScenarioScheduler.makespan(scheduled, 2), 60);
+    }
+
+    @Test
+    public void testUnknownScenariosStartFirstInFileOrder() {
+        List<Long> known = List.of(10L, -1L, 60L, 30L, -1L, 30L);
+        Assert.assertEquals(ScenarioScheduler.longestFirstOrder(known), List.of(1, 4, 2, 3, 5, 0));
+    }
+
+    @Test
+    public void testUnknownScenariosAreEstimatedAtTheMeanOfKnownOnes() {
+        Assert.assertEquals(ScenarioScheduler.estimateMillis(List.of(10L, -1L, 60L, 30L)),
+                List.of(10L, 33L, 60L, 30L));
+        long configured = ConfigManager.getScenarioDurationEstimateMillis();
+        Assert.assertEquals(ScenarioScheduler.estimateMillis(List.of(-1L, -1L)), List.of(configured, configured));
+    }
+
+    @Test
+    public void testScenarioIdIsRelativeToWorkingDirectory() {
+        URI feature = Paths.get("src/test/resources/features/forms-forest.feature").toAbsolutePath().toUri();
+        Assert.assertEquals(ScenarioDurationHistory.idOf(feature, 12),
+                "src/test/resources/features/forms-forest.feature:12");
+        Assert.assertEquals(ScenarioDurationHistory.idOf(URI.create("classpath:features/a.feature"), 3),
+                "features/a.feature:3");
+    }
+}
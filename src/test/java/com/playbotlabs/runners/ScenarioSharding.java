@@ -0,0 +1,129 @@
+package com.playbotlabs.runners;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import com.playbotlabs.utils.ShardResults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits the scenario plan across CI agents with -Dshard.index=i -Dshard.count=n.
+ * Every agent computes the same split from the same inputs: with a duration history the scenarios
+ * are dealt longest first to the least loaded shard, so shards finish at about the same time;
+ * without one each scenario goes to the shard chosen by rendezvous hashing of its ID, which stays
+ * stable as scenarios are added and moves few scenarios when the shard count changes.
+ */
+public final class ScenarioSharding {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSharding.class);
+
+    private ScenarioSharding() {
+    }
+
+    /**
+     * Keep the data provider rows assigned to this shard
+     * @param scenarios rows whose first element is a PickleWrapper, as returned by a Cucumber data provider
+     * @return this shard's rows, or the input when the run is not sharded
+     * @throws RuntimeException if shard.index and shard.count do not describe a shard
+     */
+    public static Object[][] select(Object[][] scenarios) {
+        int count = ConfigManager.getShardCount();
+        int index = ConfigManager.getShardIndex();
+        if (count < 1 || index < 0 || index >= count) {
+            throw new RuntimeException("Invalid shard: shard.index=" + index + ", shard.count=" + count
+                    + " (expected 0 <= shard.index < shard.count)");
+        }
+        if (count == 1) {
+            return scenarios;
+        }
+        List<Object[]> rows = List.of(scenarios);
+        List<String> ids = rows.stream().map(ScenarioScheduler::scenarioId).toList();
+        boolean weighted = ScenarioDurationHistory.hasHistory();
+        int[] shards = weighted
+                ? byDuration(ids, ScenarioScheduler.estimateMillis(ScenarioScheduler.knownMillis(ids)), count)
+                : byHash(ids, count);
+
+        List<Object[]> selected = new ArrayList<>();
+        List<String> selectedIds = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == index) {
+                selected.add(rows.get(i));
+                selectedIds.add(ids.get(i));
+            }
+        }
+        ShardResults.plan(selectedIds);
+        logger.info("Shard {} of {} runs {} of {} scenarios, split by {}", index, count, selected.size(),
+                rows.size(), weighted ? "recorded duration" : "scenario ID hash");
+        return selected.toArray(new Object[0][]);
+    }
+
+    /**
+     * Deal scenarios longest first to the least loaded shard
+     * @param ids the scenario IDs, used to break ties so every agent gets the same split
+     * @param weights the expected duration of each scenario
+     * @param count the number of shards
+     * @return the shard of each scenario
+     */
+    static int[] byDuration(List<String> ids, List<Long> weights, int count) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing((Integer i) -> -weights.get(i)).thenComparing(ids::get));
+        long[] loads = new long[count];
+        int[] shards = new int[ids.size()];
+        for (int i : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            shards[i] = lightest;
+            loads[lightest] += weights.get(i);
+        }
+        return shards;
+    }
+
+    /**
+     * Assign each scenario to the shard with the highest hash of its ID and the shard number
+     * @param ids the scenario IDs
+     * @param count the number of shards
+     * @return the shard of each scenario
+     */
+    static int[] byHash(List<String> ids, int count) {
+        int[] shards = new int[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            long idHash = fnv1a(ids.get(i));
+            long best = Long.MIN_VALUE;
+            for (int shard = 0; shard < count; shard++) {
+                long score = mix(idHash + shard * 0x9E3779B97F4A7C15L);
+                if (score > best) {
+                    best = score;
+                    shards[i] = shard;
+                }
+            }
+        }
+        return shards;
+    }
+
+    // FNV-1a over UTF-8, stable across JVMs unlike identity hashes
+    private static long fnv1a(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
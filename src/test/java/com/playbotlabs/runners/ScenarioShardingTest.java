@@ -0,0 +1,52 @@
+package com.playbotlabs.runners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ScenarioShardingTest {
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("src/test/resources/features/forms-forest.feature:" + (10 + i * 7));
+        }
+        return ids;
+    }
+
+    @Test
+    public void testHashSplitIsStableAndMovesFewScenariosWhenAShardIsAdded() {
+        List<String> ids = ids(200);
+        int[] four = ScenarioSharding.byHash(ids, 4);
+        Assert.assertEquals(ScenarioSharding.byHash(ids, 4), four, "Every agent should compute the same split");
+
+        int[] perShard = new int[4];
+        for (int shard : four) {
+            perShard[shard]++;
+        }
+        for (int count : perShard) {
+            Assert.assertTrue(count > 25 && count < 75, "Unbalanced split: " + Arrays.toString(perShard));
+        }
+
+        int[] five = ScenarioSharding.byHash(ids, 5);
+        for (int i = 0; i < ids.size(); i++) {
+            Assert.assertTrue(five[i] == four[i] || five[i] == 4, "Scenarios may only move to the new shard");
+        }
+    }
+
+    @Test
+    public void testDurationSplitBalancesLoad() {
+        List<String> ids = ids(7);
+        List<Long> weights = List.of(60L, 10L, 10L, 10L, 30L, 20L, 20L);
+        int[] shards = ScenarioSharding.byDuration(ids, weights, 2);
+        long[] loads = new long[2];
+        for (int i = 0; i < shards.length; i++) {
+            loads[shards[i]] += weights.get(i);
+        }
+        Assert.assertEquals(loads[0], 80);
+        Assert.assertEquals(loads[1], 80);
+    }
+}
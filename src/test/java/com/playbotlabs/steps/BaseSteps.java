@@ -2,26 +2,54 @@ package com.playbotlabs.steps;
 
 import com.playbotlabs.config.ConfigManager;
 import com.playbotlabs.utils.DriverManager;
+import com.playbotlabs.utils.ScenarioDurationHistory;
+import com.playbotlabs.utils.ShardResults;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
+import io.cucumber.java.Status;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
 
 public class BaseSteps {
+    private long startNanos;
 
     @Before
     public void setUp() {
+        startNanos = System.nanoTime();
         DriverManager.setDriver(ConfigManager.getBrowser());
     }
 
     @After
     public void tearDown(Scenario scenario) {
-        if (scenario.isFailed()) {
+        try {
+            if (scenario.isFailed() && DriverManager.getDriver() != null) {
+                attachScreenshot(scenario);
+            }
+        } finally {
+            // Always quit, or a crashed browser would keep its session permit for the rest of the run
+            DriverManager.quitDriver();
+        }
+        String scenarioId = ScenarioDurationHistory.idOf(scenario.getUri(), scenario.getLine());
+        // Browser matrix runs repeat the scenario per cell, so each cell keeps its own result and duration
+        String cell = ScenarioDurationHistory.currentCell();
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (scenario.getStatus() != Status.SKIPPED) {
+            ScenarioDurationHistory.record(scenarioId, cell, duration);
+        }
+        ShardResults.record(scenarioId, cell, scenario.getName(), scenario.getStatus().name(), duration);
+    }
+
+    private void attachScreenshot(Scenario scenario) {
+        try {
             // Take screenshot on failure
             byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
             scenario.attach(screenshot, "image/png", "Screenshot");
+        } catch (WebDriverException e) {
+            scenario.log("Screenshot unavailable: " + e.getMessage());
         }
-        DriverManager.quitDriver();
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.playbotlabs.steps;
 
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.pages.FormStateSnapshot;
 import com.playbotlabs.pages.FormsForestPage;
 import com.playbotlabs.utils.TestDataUtils;
 import io.cucumber.java.en.Given;
@@ -8,6 +10,7 @@ import io.cucumber.java.en.When;
 import org.testng.Assert;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -150,6 +153,30 @@ public class FormsForestSteps {
         String marketing = testData.get(testDataKey + ".marketing");
         String privacy = testData.get(testDataKey + ".privacy");
         
+        if (ConfigManager.isBatchFillEnabled()) {
+            Map<String, String> fieldValues = new LinkedHashMap<>();
+            fieldValues.put("username", username);
+            fieldValues.put("password", password);
+            fieldValues.put("email", email);
+            fieldValues.put("comments", comments);
+            fieldValues.put("description", description);
+            fieldValues.put("message", message);
+            fieldValues.put("gender", gender);
+            fieldValues.put("experience", experience);
+            fieldValues.put("preference", preference);
+            fieldValues.put("interests", interests);
+            fieldValues.put("skills", skills);
+            fieldValues.values().removeIf(value -> value == null || value.isEmpty());
+            // Single checkboxes are only ever checked by this step, never cleared
+            for (String checkbox : List.of("terms", "newsletter", "notifications", "marketing", "privacy")) {
+                if ("true".equals(testData.get(testDataKey + "." + checkbox))) {
+                    fieldValues.put(checkbox, "true");
+                }
+            }
+            formsForestPage.fillBatch(fieldValues);
+            return;
+        }
+
         // Fill basic input fields
         if (username != null && !username.isEmpty()) formsForestPage.fillUsername(username);
         if (password != null && !password.isEmpty()) formsForestPage.fillPassword(password);
@@ -166,14 +193,10 @@ public class FormsForestSteps {
         if (preference != null && !preference.isEmpty()) formsForestPage.selectPreference(preference);
         
         // Select multiple checkboxes
-        if (interests != null && !interests.isEmpty()) {
-            List<String> interestsList = Arrays.asList(interests.split(","));
-            formsForestPage.selectInterests(interestsList.stream().map(String::trim).toList());
-        }
-        if (skills != null && !skills.isEmpty()) {
-            List<String> skillsList = Arrays.asList(skills.split(","));
-            formsForestPage.selectSkills(skillsList.stream().map(String::trim).toList());
-        }
+        List<String> interestsList = TestDataUtils.getTestDataList("forms-forest-data.json", testDataKey + ".interests");
+        if (!interestsList.isEmpty()) formsForestPage.selectInterests(interestsList);
+        List<String> skillsList = TestDataUtils.getTestDataList("forms-forest-data.json", testDataKey + ".skills");
+        if (!skillsList.isEmpty()) formsForestPage.selectSkills(skillsList);
         
         // Set single checkboxes
         if ("true".equals(terms)) formsForestPage.setTermsAcceptance(true);
@@ -570,17 +593,17 @@ public class FormsForestSteps {
 
     @Then("I should not see a success message")
     public void i_should_not_see_a_success_message() {
-        Assert.assertFalse(formsForestPage.isSuccessMessageDisplayed(), "Success message should not be displayed");
+        Assert.assertTrue(formsForestPage.isSuccessMessageAbsent(), "Success message should not be displayed");
     }
 
     @Then("I should not see an error message")
     public void i_should_not_see_an_error_message() {
-        Assert.assertFalse(formsForestPage.isErrorMessageDisplayed(), "Error message should not be displayed");
+        Assert.assertTrue(formsForestPage.isErrorMessageAbsent(), "Error message should not be displayed");
     }
 
     @Then("I should not see validation errors")
     public void i_should_not_see_validation_errors() {
-        Assert.assertFalse(formsForestPage.hasValidationErrors(), "Validation errors should not be present");
+        Assert.assertTrue(formsForestPage.hasNoValidationErrors(), "Validation errors should not be present");
     }
 
     // ========== FORMS FOREST SPECIFIC VALIDATION STEP DEFINITIONS ==========
@@ -767,6 +790,30 @@ public class FormsForestSteps {
             "Reset button should be disabled");
     }
 
+    @Then("the form fields should have the following state:")
+    public void the_form_fields_should_have_the_following_state(List<Map<String, String>> expectedStates) {
+        // One snapshot serves every row of the table
+        FormStateSnapshot state = formsForestPage.captureFormState();
+        for (Map<String, String> row : expectedStates) {
+            String fieldName = row.get("field");
+            String property = row.get("property");
+            String expected = row.get("expected");
+            FormStateSnapshot.Field field = state.field(fieldName);
+            Assert.assertNotNull(field, "Field '" + fieldName + "' should exist");
+            String actual = switch (property) {
+                case "value" -> field.value();
+                case "enabled" -> String.valueOf(field.enabled());
+                case "displayed" -> String.valueOf(field.displayed());
+                case "required" -> String.valueOf(field.required());
+                case "checked" -> String.valueOf(field.checked());
+                case "accessible" -> String.valueOf(FormsForestPage.hasAccessibilityAttributes(field));
+                case "selected" -> String.join(",", state.getCheckedValues(fieldName));
+                default -> field.aria(property);
+            };
+            Assert.assertEquals(actual, expected, "Field '" + fieldName + "' " + property + " should match");
+        }
+    }
+
     // Field accessibility and attribute validation steps
 
     @Then("the {string} field should have proper accessibility attributes")
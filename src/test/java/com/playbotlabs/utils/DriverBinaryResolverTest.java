@@ -0,0 +1,53 @@
+package com.playbotlabs.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unit test class for driver binary resolution
+ * Uses a pinned driver directory so no network access or browser is required
+ */
+public class DriverBinaryResolverTest {
+
+    private Path driverDir;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        driverDir = Files.createTempDirectory("pinned-drivers");
+        File geckodriver = Files.createFile(driverDir.resolve("geckodriver")).toFile();
+        Assert.assertTrue(geckodriver.setExecutable(true), "Fake driver binary should be executable");
+        System.setProperty("driver.binary.dir", driverDir.toString());
+        System.setProperty("driver.offline", "true");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("driver.binary.dir");
+        System.clearProperty("driver.offline");
+    }
+
+    @Test(description = "Test that a pinned binary is used and memoized")
+    public void testPinnedBinaryIsResolvedOnce() {
+        DriverBinaryResolver.ResolvedDriver first = DriverBinaryResolver.resolve("firefox");
+        DriverBinaryResolver.ResolvedDriver second = DriverBinaryResolver.resolve("FIREFOX");
+
+        Assert.assertEquals(first.source(), "pinned", "Binary should come from the pinned directory");
+        Assert.assertEquals(first.path(), driverDir.resolve("geckodriver").toFile().getAbsolutePath(),
+            "Resolved path should point at the pinned binary");
+        Assert.assertEquals(System.getProperty("webdriver.gecko.driver"), first.path(),
+            "Driver system property should be set to the pinned binary");
+        Assert.assertSame(second, first, "Resolution should happen once per JVM");
+    }
+
+    @Test(description = "Test that offline mode fails fast when the binary is missing")
+    public void testOfflineModeWithoutBinaryFails() {
+        Assert.assertThrows(RuntimeException.class, () -> DriverBinaryResolver.resolve("edge"));
+    }
+}
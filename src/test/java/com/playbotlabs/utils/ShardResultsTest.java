@@ -0,0 +1,52 @@
+package com.playbotlabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+public class ShardResultsTest {
+
+    @Test
+    public void testMergeCombinesShards() throws Exception {
+        File dir = Files.createTempDirectory("shard-results").toFile();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.writeValue(new File(dir, "shard-0-of-2.json"), new ShardResults.ShardFile(0, 2, List.of("a.feature:3"),
+                List.of(new ShardResults.Result("a.feature:3", "chrome:headless", "first", "PASSED", 1200))));
+        mapper.writeValue(new File(dir, "shard-1-of-2.json"), new ShardResults.ShardFile(1, 2, List.of("a.feature:9"),
+                List.of(new ShardResults.Result("a.feature:9", "chrome:headless", "second", "FAILED", 800))));
+
+        ShardResults.ShardFile merged = ShardResults.merge(dir);
+        Assert.assertEquals(merged.shardCount(), 2);
+        Assert.assertEquals(merged.planned(), List.of("a.feature:3", "a.feature:9"));
+        Assert.assertEquals(merged.results().get(1).status(), "FAILED");
+    }
+
+    @Test
+    public void testMergeKeepsEachMatrixCell() throws Exception {
+        File dir = Files.createTempDirectory("shard-results").toFile();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.writeValue(new File(dir, "shard-0-of-2.json"), new ShardResults.ShardFile(0, 2, List.of("a.feature:3"),
+                List.of(new ShardResults.Result("a.feature:3", "firefox:headless", "first", "PASSED", 900),
+                        new ShardResults.Result("a.feature:3", "chrome:headless", "first", "FAILED", 1200))));
+        mapper.writeValue(new File(dir, "shard-1-of-2.json"), new ShardResults.ShardFile(1, 2, List.of(), List.of()));
+
+        ShardResults.ShardFile merged = ShardResults.merge(dir);
+        Assert.assertEquals(merged.results().size(), 2);
+        Assert.assertEquals(merged.results().get(0).cell(), "chrome:headless");
+        Assert.assertEquals(merged.results().get(0).status(), "FAILED");
+        Assert.assertEquals(merged.results().get(1).status(), "PASSED");
+    }
+
+    @Test
+    public void testMergeRejectsMixedSplits() throws Exception {
+        File dir = Files.createTempDirectory("shard-results").toFile();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.writeValue(new File(dir, "shard-0-of-2.json"), new ShardResults.ShardFile(0, 2, List.of(), List.of()));
+        mapper.writeValue(new File(dir, "shard-0-of-3.json"), new ShardResults.ShardFile(0, 3, List.of(), List.of()));
+        Assert.expectThrows(RuntimeException.class, () -> ShardResults.merge(dir));
+    }
+}
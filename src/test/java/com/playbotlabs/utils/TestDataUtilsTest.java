@@ -0,0 +1,167 @@
+package com.playbotlabs.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Unit test class for the test data cache
+ * Reads the Forms Forest data file and temporary files without a browser
+ * Methods share the process-wide cache and system properties, so they run on one thread
+ */
+@Test(singleThreaded = true)
+public class TestDataUtilsTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("test.data.path");
+        System.clearProperty("testdata.reload.check");
+        TestDataUtils.clearCache();
+    }
+
+    @Test(description = "Test that scenario data is parsed once and shared")
+    public void testScenarioDataIsCached() {
+        Map<String, String> first = TestDataUtils.getFormsForestTestData("validData");
+        Map<String, String> second = TestDataUtils.getFormsForestTestData("validData");
+
+        Assert.assertSame(second, first, "Repeated lookups should return the cached map");
+        Assert.assertEquals(first.get("username"), "validuser123", "Scenario fields should be read");
+        Assert.assertThrows(UnsupportedOperationException.class, () -> first.put("username", "changed"));
+    }
+
+    @Test(description = "Test that nested values are indexed by dotted path")
+    public void testDottedPathIndex() throws IOException {
+        Path dir = Files.createTempDirectory("testdata");
+        Files.writeString(dir.resolve("nested.json"),
+            "{\"scenario\": {\"user\": {\"name\": \"ann\"}, \"tags\": [\"a\", \"b\"], \"skills\": \"java, python\"}}");
+        System.setProperty("test.data.path", dir.toString());
+
+        Map<String, String> testData = TestDataUtils.readJsonTestData("nested.json");
+        Assert.assertEquals(testData.get("scenario.user.name"), "ann", "Nested objects should be flattened");
+        Assert.assertEquals(testData.get("scenario.tags.1"), "b", "Array elements should be indexed");
+        Assert.assertEquals(testData.get("scenario.tags"), "a,b", "Arrays should read as comma separated text");
+        Assert.assertEquals(TestDataUtils.getTestDataList("nested.json", "scenario.tags"), List.of("a", "b"));
+        Assert.assertEquals(TestDataUtils.getTestDataList("nested.json", "scenario.skills"), List.of("java", "python"),
+            "Comma separated values should be pre-split and trimmed");
+        Assert.assertTrue(TestDataUtils.getTestDataList("nested.json", "scenario.missing").isEmpty());
+    }
+
+    @Test(description = "Test that scenarios are classified by name unless a category is declared")
+    public void testScenarioCategories() {
+        Assert.assertEquals(TestDataUtils.getFormsForestScenarioCategories("invalidEmailFormat"),
+            EnumSet.of(ScenarioCategory.INVALID), "Invalid scenarios should be classified by name");
+        Assert.assertEquals(TestDataUtils.getFormsForestScenarioCategories("alternatePhoneFormat"),
+            EnumSet.of(ScenarioCategory.VALID, ScenarioCategory.EDGE_CASE), "Declared categories should win");
+        Assert.assertTrue(TestDataUtils.getValidFormsForestTestData().containsKey("validData"));
+        Assert.assertFalse(TestDataUtils.getValidFormsForestTestData().containsKey("invalidEmailFormat"));
+        Assert.assertTrue(TestDataUtils.getEdgeCaseFormsForestTestData().containsKey("internationalPhoneFormats"));
+        Assert.assertFalse(TestDataUtils.getFormsForestTestData("alternatePhoneFormat").containsKey("category"),
+            "The category field should not be treated as form data");
+        Assert.assertTrue(TestDataUtils.isInvalidFormsForestScenario("emptyUnknownScenario"),
+            "Unknown scenarios should fall back to the name-based guess");
+    }
+
+    @Test(description = "Test that JSON, NDJSON and CSV files stream the same scenarios")
+    public void testStreamingFormats() throws IOException {
+        Path dir = Files.createTempDirectory("testdata");
+        Files.writeString(dir.resolve("large.json"),
+            "{\"validOne\": {\"username\": \"one\"}, \"version\": 2, \"invalidTwo\": {\"username\": \"two\"}}");
+        Files.writeString(dir.resolve("large.ndjson"),
+            "{\"name\": \"validOne\", \"username\": \"one\"}\n\n{\"name\": \"invalidTwo\", \"username\": \"two\"}\n");
+        Files.writeString(dir.resolve("large.csv"),
+            "name,username,category\r\nvalidOne,one,\r\ninvalidTwo,\"t,\"\"wo\"\"\",edge-case\r\n");
+        System.setProperty("test.data.path", dir.toString());
+
+        for (String fileName : List.of("large.json", "large.ndjson", "large.csv")) {
+            try (Stream<TestDataRecord> records = TestDataUtils.streamTestData(fileName)) {
+                Assert.assertEquals(records.map(TestDataRecord::name).toList(), List.of("validOne", "invalidTwo"),
+                    "Scenarios should stream in file order from " + fileName);
+            }
+            TestDataRecord record = TestDataUtils.findTestData(fileName, "invalidTwo");
+            Assert.assertEquals(record.get("username"), fileName.endsWith(".csv") ? "t,\"wo\"" : "two",
+                "Lookup by name should seek to the scenario in " + fileName);
+            Assert.assertNull(record.get("name"), "The name field should not be form data");
+        }
+        Assert.assertEquals(TestDataUtils.findTestData("large.csv", "invalidTwo").categories(),
+            EnumSet.of(ScenarioCategory.EDGE_CASE), "A category column should override the name-based guess");
+        Assert.assertEquals(TestDataUtils.findTestData("large.csv", "validOne").categories(),
+            EnumSet.of(ScenarioCategory.VALID), "An empty category cell should fall back to the name");
+    }
+
+    @Test(description = "Test that generated data is reproducible from the seed, also in parallel")
+    public void testSyntheticDataIsDeterministic() {
+        SyntheticTestDataGenerator generator = new SyntheticTestDataGenerator(7);
+        List<TestDataRecord> sequential = generator.stream(500).toList();
+        List<TestDataRecord> parallel = new SyntheticTestDataGenerator(7).stream(500).parallel().toList();
+
+        Assert.assertEquals(parallel, sequential, "Parallel generation should match sequential generation");
+        Assert.assertEquals(generator.generate(123), sequential.get(123), "Records should be addressable by index");
+        Assert.assertNotEquals(new SyntheticTestDataGenerator(8).generate(123), sequential.get(123),
+            "Another seed should produce other data");
+
+        TestDataRecord invalidEmail = generator.generate(SyntheticTestDataGenerator.Kind.INVALID_EMAIL, 3);
+        Assert.assertEquals(invalidEmail.fields().keySet(), TestDataUtils.getFormsForestTestData("validData").keySet(),
+            "Generated records should use the Forms Forest field schema");
+        Assert.assertFalse(invalidEmail.get("email").matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+"),
+            "Invalid email records should not hold a well-formed address");
+        Assert.assertEquals(invalidEmail.categories(), EnumSet.of(ScenarioCategory.INVALID));
+    }
+
+    @Test(description = "Test that compiled binary data matches its JSON source until the source changes")
+    public void testBinaryTestData() throws IOException {
+        File source = new File("src/test/resources/testdata/forms-forest-data.json");
+        File binary = Files.createTempDirectory("testdata-bin").resolve("forms-forest-data.tdb").toFile();
+        BinaryTestData.compile(source, binary);
+
+        BinaryTestData compiled = BinaryTestData.open(binary, source);
+        TestDataDocument parsed = TestDataDocument.load(source);
+        Assert.assertNotNull(compiled, "A freshly compiled binary should be used");
+        Assert.assertEquals(compiled.getScenarioNames(), parsed.getScenarioNames());
+        for (String scenario : parsed.getScenarioNames()) {
+            Assert.assertEquals(compiled.getScenario(scenario), parsed.getScenario(scenario),
+                "Scenario '" + scenario + "' should match the JSON");
+            Assert.assertEquals(compiled.getCategories(scenario), parsed.getCategories(scenario));
+        }
+        Assert.assertEquals(compiled.getField("unicodeCharacters", "username"), "用户名123",
+            "Field lookups should decode UTF-8 from the mapped file");
+        Assert.assertNull(compiled.getScenario("noSuchScenario"));
+        Assert.assertEquals(compiled.getScenarios(ScenarioCategory.EDGE_CASE),
+            parsed.getScenarios(ScenarioCategory.EDGE_CASE));
+
+        File copy = Files.createTempDirectory("testdata").resolve("copy.json").toFile();
+        Files.copy(source.toPath(), copy.toPath());
+        Assert.assertNull(BinaryTestData.open(binary, copy), "A binary should not be used for another source");
+    }
+
+    @Test(description = "Test that an unknown scenario is reported")
+    public void testUnknownScenario() {
+        Assert.assertThrows(RuntimeException.class, () -> TestDataUtils.getFormsForestTestData("noSuchScenario"));
+    }
+
+    @Test(description = "Test that a changed file is re-parsed only when reload checks are enabled")
+    public void testReloadOnModification() throws IOException {
+        Path dir = Files.createTempDirectory("testdata");
+        File file = dir.resolve("reload.json").toFile();
+        Files.writeString(file.toPath(), "{\"key\": \"first\"}");
+        System.setProperty("test.data.path", dir.toString());
+
+        Assert.assertEquals(TestDataUtils.getTestData("reload.json", "key"), "first");
+        Files.writeString(file.toPath(), "{\"key\": \"second\"}");
+        file.setLastModified(file.lastModified() + 2000);
+        Assert.assertEquals(TestDataUtils.getTestData("reload.json", "key"), "first",
+            "Cached data should be kept while reload checks are off");
+
+        System.setProperty("testdata.reload.check", "true");
+        Assert.assertEquals(TestDataUtils.getTestData("reload.json", "key"), "second",
+            "Changed data should be re-parsed when reload checks are on");
+    }
+}
@@ -0,0 +1,57 @@
+package com.playbotlabs.utils;
+
+import com.playbotlabs.config.ConfigManager;
+import com.playbotlabs.pages.FormsForestPage;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Benchmark of the polling and MutationObserver wait backends on the Forms Forest page
+ * Requires a browser and the Forms Forest application to be running
+ */
+public class WaitBackendBenchmarkTest {
+
+    private static final int ITERATIONS = 10;
+    private static final By SUBMISSION_OUTCOME = By.cssSelector(".success-message, .error-message, .validation-error");
+    private static final By SUBMIT_BUTTON = By.cssSelector("button[type='submit']");
+
+    private FormsForestPage formsForestPage;
+
+    @BeforeClass
+    public void setUp() {
+        DriverManager.setDriver(ConfigManager.getBrowser());
+        formsForestPage = new FormsForestPage();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Test(description = "Compare time to detect the submission outcome with each wait backend")
+    public void testSubmissionOutcomeWaitLatency() {
+        double pollingMillis = measure(WaitBackend.POLLING);
+        double observerMillis = measure(WaitBackend.MUTATION_OBSERVER);
+
+        Reporter.log(String.format("Submission outcome wait: polling=%.1fms, mutation_observer=%.1fms (avg of %d)",
+                pollingMillis, observerMillis, ITERATIONS), true);
+        Assert.assertTrue(observerMillis > 0 && pollingMillis > 0, "Both backends should detect the outcome");
+    }
+
+    private double measure(WaitBackend backend) {
+        long totalNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            formsForestPage.navigateToFormsForest();
+            WaitUtils.waitForElementToBeClickable(SUBMIT_BUTTON, backend).click();
+
+            long start = System.nanoTime();
+            WaitUtils.waitForElementToBeVisible(SUBMISSION_OUTCOME, backend);
+            totalNanos += System.nanoTime() - start;
+        }
+        return totalNanos / 1_000_000.0 / ITERATIONS;
+    }
+}
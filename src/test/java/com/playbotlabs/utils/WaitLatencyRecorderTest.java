@@ -0,0 +1,73 @@
+package com.playbotlabs.utils;
+
+import com.playbotlabs.config.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Unit test class for adaptive wait timeouts
+ * Exercises the latency histograms directly without a browser
+ */
+public class WaitLatencyRecorderTest {
+
+    private static final Duration CONFIGURED = Duration.ofSeconds(20);
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Path.of("target/test-wait-latency.json"));
+        System.setProperty("wait.adaptive.enabled", "true");
+        System.setProperty("wait.latency.file", "target/test-wait-latency.json");
+        ConfigManager.reload();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("wait.adaptive.enabled");
+        System.clearProperty("wait.latency.file");
+        ConfigManager.reload();
+    }
+
+    @Test(description = "Test that the configured timeout is used until enough samples exist")
+    public void testConfiguredTimeoutWithThinHistory() {
+        String key = "visible:thin-history";
+        WaitLatencyRecorder.record(key, Duration.ofMillis(300));
+
+        Assert.assertEquals(WaitLatencyRecorder.timeoutFor(key, CONFIGURED), CONFIGURED,
+            "Timeout should not adapt before the minimum sample count is reached");
+    }
+
+    @Test(description = "Test that the timeout follows the high percentile with a multiplier")
+    public void testAdaptiveTimeoutFromPercentile() {
+        String key = "visible:fast-condition";
+        for (int i = 0; i < 100; i++) {
+            WaitLatencyRecorder.record(key, Duration.ofMillis(i < 99 ? 1000 : 5000));
+        }
+
+        long p99 = WaitLatencyRecorder.getPercentileMillis(key, 99);
+        Assert.assertTrue(p99 >= 1000 && p99 < 1300, "p99 should fall in the 1000ms bucket but was " + p99);
+        Assert.assertEquals(WaitLatencyRecorder.timeoutFor(key, CONFIGURED), Duration.ofMillis(p99 * 3),
+            "Timeout should be the p99 latency times the safety multiplier");
+    }
+
+    @Test(description = "Test that adaptive timeouts respect the floor and the configured cap")
+    public void testAdaptiveTimeoutIsBounded() {
+        String fastKey = "visible:very-fast-condition";
+        String slowKey = "visible:very-slow-condition";
+        for (int i = 0; i < 50; i++) {
+            WaitLatencyRecorder.record(fastKey, Duration.ofMillis(10));
+            WaitLatencyRecorder.record(slowKey, Duration.ofSeconds(15));
+        }
+
+        Assert.assertEquals(WaitLatencyRecorder.timeoutFor(fastKey, CONFIGURED), Duration.ofMillis(2000),
+            "Timeout should not drop below the configured floor");
+        Assert.assertEquals(WaitLatencyRecorder.timeoutFor(slowKey, CONFIGURED), CONFIGURED,
+            "Timeout should never exceed the configured timeout");
+    }
+}
@@ -342,22 +342,26 @@ Feature: Basic Form Elements Testing
 
   @basic-forms
   Scenario: Form accessibility validation
-    Then the "username" field should have proper accessibility attributes
-    And the "password" field should have proper accessibility attributes
-    And the "email" field should have proper accessibility attributes
-    And the "username" field should have required attribute
-    And the "password" field should have required attribute
-    And the "email" field should have required attribute
+    Then the form fields should have the following state:
+      | field    | property   | expected |
+      | username | accessible | true     |
+      | password | accessible | true     |
+      | email    | accessible | true     |
+      | username | required   | true     |
+      | password | required   | true     |
+      | email    | required   | true     |
 
   @basic-forms
   Scenario: Form field state validation
     Then all form fields should be enabled
-    And the username field should be enabled
-    And the password field should be enabled
-    And the email field should be enabled
-    And the terms checkbox should be enabled
-    And the newsletter checkbox should be enabled
-    And the reset button should be enabled
+    And the form fields should have the following state:
+      | field        | property | expected |
+      | username     | enabled  | true     |
+      | password     | enabled  | true     |
+      | email        | enabled  | true     |
+      | terms        | enabled  | true     |
+      | newsletter   | enabled  | true     |
+      | button:reset | enabled  | true     |
 
   @basic-forms @smoke
   Scenario Outline: Data-driven basic form testing